@@ -1,16 +1,12 @@
 import {Component, OnInit} from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { Router } from '@angular/router';
-import {Game} from '../../models/game.model';
-import {Company, User} from '../../models/user.model';
-import {Assessment} from '../../models/assessment.model';
+import {User} from '../../models/user.model';
+import {CandidateAssessmentView, CandidateDashboard} from '../../models/assessment.model';
 import {ApiService} from '../../services/api.service';
 import {AuthService} from '../../services/auth.service';
 
-interface AssessmentWithDetails extends Assessment {
-  game?: Game;
-  company?: Company;
-}
+type AssessmentWithDetails = CandidateAssessmentView;
 @Component({
   selector: 'app-candidate-dashboard',
   imports: [CommonModule],
@@ -85,6 +81,29 @@ interface AssessmentWithDetails extends Assessment {
             </div>
           </div>
         </div>
+
+        <!-- Expired Assessments -->
+        <div *ngIf="expiredAssessments.length > 0" class="mb-8">
+          <h2 class="text-2xl font-bold text-gray-900 mb-4">Expired Assessments</h2>
+          <div class="bg-white shadow overflow-hidden sm:rounded-md">
+            <ul class="divide-y divide-gray-200">
+              <li *ngFor="let assessment of expiredAssessments" class="px-4 py-4 sm:px-6">
+                <div class="flex items-center justify-between">
+                  <div class="flex-1">
+                    <p class="text-sm font-medium text-gray-600">{{ assessment?.game?.gameName || 'Unnamed Game' }}</p>
+                    <p class="text-sm text-gray-500">{{ assessment?.company?.companyName || 'Unknown Company' }}</p>
+                    <p class="text-sm text-gray-500">Was due: {{ assessment?.dueDate | date:'short' }}</p>
+                  </div>
+                  <div class="flex-shrink-0">
+                    <span class="inline-flex px-2 py-1 text-xs font-semibold rounded-full bg-gray-100 text-gray-800">
+                      Expired
+                    </span>
+                  </div>
+                </div>
+              </li>
+            </ul>
+          </div>
+        </div>
       </div>
     </div>
 
@@ -176,6 +195,7 @@ interface AssessmentWithDetails extends Assessment {
 export class CandidateDashboardComponent implements OnInit{
   pendingAssessments: AssessmentWithDetails[] = [];
   completedAssessments: AssessmentWithDetails[] = [];
+  expiredAssessments: AssessmentWithDetails[] = [];
   currentUser: User | null = null;
   showGuidelinesModal = false;
   selectedAssessment: AssessmentWithDetails | null = null;
@@ -195,81 +215,16 @@ export class CandidateDashboardComponent implements OnInit{
   loadAssessments(): void {
     if (!this.currentUser?.id) return;
 
-    this.apiService.getAssessmentsByCandidateId(this.currentUser.id).subscribe({
-      next: (assessments: Assessment[]) => this.processAssessments(assessments),
+    this.apiService.getCandidateDashboard(this.currentUser.id).subscribe({
+      next: (dashboard: CandidateDashboard) => {
+        this.pendingAssessments = dashboard.pending;
+        this.completedAssessments = dashboard.completed;
+        this.expiredAssessments = dashboard.expired;
+      },
       error: (error) => console.error('Error loading assessments:', error)
     });
   }
 
-  processAssessments(assessments: Assessment[]): void {
-    this.pendingAssessments = [];
-    this.completedAssessments = [];
-
-    assessments.forEach((assessment) => {
-      if (!assessment.id) {
-        console.warn('Skipping assessment with no ID:', assessment);
-        return;
-      }
-
-      this.apiService.getGameById(assessment.gameId).subscribe({
-        next: (game: Game) => {
-          const assessmentWithDetails: AssessmentWithDetails = {
-            ...assessment,
-            game: game
-          };
-
-          if (assessment.companyId) {
-            this.apiService.getAllCompanies().subscribe({
-              next: (companies: Company[]) => {
-                const company = companies.find(c => c.id === assessment.companyId);
-                if (company) {
-                  assessmentWithDetails.company = company;
-                }
-
-                this.addToCorrectList(assessmentWithDetails);
-              },
-              error: (error) => {
-                console.error('Error fetching company data:', error);
-                this.addToCorrectList(assessmentWithDetails);
-              }
-            });
-          } else {
-            this.addToCorrectList(assessmentWithDetails);
-          }
-        },
-        error: (error) => {
-          console.error('Error fetching game data:', error);
-
-          const fallbackGame: Game = {
-            id: assessment.gameId,
-            gameName: 'Unknown Game',
-            gameDescription: 'Game details unavailable',
-            skillName: 'Unknown',
-            gameUrl: '',
-            gameImage: 'https://via.placeholder.com/300x200?text=Unavailable',
-            active: false,
-            gameType: 'CRITICAL_THINKING'
-          };
-
-          const assessmentWithDetails: AssessmentWithDetails = {
-            ...assessment,
-            game: fallbackGame
-          };
-
-          this.addToCorrectList(assessmentWithDetails);
-        }
-      });
-    });
-  }
-
-  addToCorrectList(assessment: AssessmentWithDetails): void {
-    if (assessment.status === 'PENDING') {
-      this.pendingAssessments.push(assessment);
-    } else if (assessment.status === 'COMPLETED') {
-      this.completedAssessments.push(assessment);
-    }
-  }
-
   startAssessment(assessment: AssessmentWithDetails): void {
     this.selectedAssessment = assessment;
     this.showGuidelinesModal = true;
@@ -1,6 +1,6 @@
 import { Component } from '@angular/core';
 import { CommonModule } from '@angular/common';
-import { Score } from '../../../models/score.model';
+import { AssessmentCompletion } from '../../../models/assessment.model';
 import { Report } from '../../../models/report.model';
 import { ActivatedRoute, Router } from '@angular/router';
 import { ApiService } from '../../../services/api.service';
@@ -213,124 +213,22 @@ export class MemoryFocusGameComponent {
 
     const feedback = this.generateFeedback(totalScore, this.accuracy, this.finalTime);
 
-    const score: Score = {
-      assessmentId: this.assessmentId,
-      candidateId: this.authService.getCurrentUser()?.id!,
+    const completion: AssessmentCompletion = {
       score: totalScore.toString(),
       feedback: feedback,
-      gameData: JSON.stringify(gameData)
+      gameData: JSON.stringify(gameData),
+      skillType: 'Memory & Focus',
+      reportFeedback: this.generateDetailedReportFeedback()
     };
 
-    this.apiService.createScore(score).subscribe({
+    // Store score, mark the assessment completed and create the report in one request
+    this.apiService.completeAssessment(this.assessmentId, completion).subscribe({
       next: (result) => {
-        console.log('Score submitted successfully:', result);
-
-        // Update assessment status to completed after score submission
-        this.updateAssessmentStatus();
-
-        // Create report after score is successfully created
-        this.createReport(result);
-      },
-      error: (error) => {
-        console.error('Error submitting score:', error);
-      }
-    });
-  }
-
-  updateAssessmentStatus(): void {
-    // First, get the current assessment details
-    if (!this.authService.getCurrentUser()?.id) {
-      console.error('No current user found for assessment update');
-      return;
-    }
-
-    this.apiService.getAssessmentsByCandidateId(this.authService.getCurrentUser()!.id!).subscribe({
-      next: (assessments) => {
-        const currentAssessment = assessments.find(a => a.id === this.assessmentId);
-        if (currentAssessment) {
-          // Update the assessment status to COMPLETED
-          const updatedAssessment = {
-            ...currentAssessment,
-            status: 'COMPLETED' as const,
-            updatedAt: new Date().toISOString()
-          };
-
-          this.apiService.updateAssessment(this.assessmentId, updatedAssessment).subscribe({
-            next: (result) => {
-              console.log('Assessment status updated to COMPLETED:', result);
-            },
-            error: (error) => {
-              console.error('Error updating assessment status:', error);
-              console.log('Assessment data:', updatedAssessment);
-            }
-          });
-        } else {
-          console.error('Assessment not found for status update');
-        }
-      },
-      error: (error) => {
-        console.error('Error fetching assessment for status update:', error);
-      }
-    });
-  }
-
-  createReport(scoreResult: Score): void {
-    const currentUser = this.authService.getCurrentUser();
-
-    if (!currentUser || !scoreResult.scoreId) {
-      console.error('Missing user data or score ID for report creation');
-      return;
-    }
-
-    // Get HR ID from the assessment to determine who should receive the report
-    this.getAssessmentDetails(scoreResult);
-  }
-
-  private getAssessmentDetails(scoreResult: Score): void {
-    if (!this.authService.getCurrentUser()?.id) return;
-
-    this.apiService.getAssessmentsByCandidateId(this.authService.getCurrentUser()!.id!).subscribe({
-      next: (assessments) => {
-        const currentAssessment = assessments.find(a => a.id === this.assessmentId);
-        if (currentAssessment) {
-          this.generateAndSubmitReport(scoreResult, currentAssessment);
-        } else {
-          console.error('Assessment not found for report generation');
-        }
-      },
-      error: (error) => {
-        console.error('Error fetching assessment for report:', error);
-      }
-    });
-  }
-
-  private generateAndSubmitReport(scoreResult: Score, assessment: any): void {
-    const currentUser = this.authService.getCurrentUser();
-
-    if (!currentUser) {
-      console.error('No current user found for report creation');
-      return;
-    }
-
-    const report = {
-      userId: assessment.hrId, // HR who created the assessment
-      scoreId: scoreResult.scoreId!,
-      fullname: `${currentUser.firstName} ${currentUser.lastName}`,
-      email: currentUser.email,
-      score: scoreResult.score,
-      skillType: 'Memory & Focus', // Memory Focus tests memory and concentration skills
-      feedback: this.generateDetailedReportFeedback(),
-    };
-
-    console.log('Creating report:', report);
-
-    this.apiService.createReport(report).subscribe({
-      next: (reportResult) => {
-        console.log('Report created successfully:', reportResult);
+        console.log('Assessment completed successfully:', result);
       },
       error: (error) => {
-        console.error('Error creating report:', error);
-        console.log('Report data that failed:', report);
+        console.error('Error completing assessment:', error);
+        console.log(completion);
       }
     });
   }
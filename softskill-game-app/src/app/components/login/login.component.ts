@@ -90,8 +90,8 @@ export class LoginComponent {
     this.errorMessage = '';
 
     this.apiService.login(this.credentials).subscribe({
-      next: (user) => {
-        this.authService.setCurrentUser(user);
+      next: ({ token, user }) => {
+        this.authService.setSession(token, user);
         if (user.role === 'RECRUITER') {
           this.router.navigate(['/recruiter-dashboard']);
         } else {
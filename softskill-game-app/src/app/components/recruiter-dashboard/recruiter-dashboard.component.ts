@@ -1,12 +1,13 @@
-import {Component, OnInit} from '@angular/core';
+import {Component, OnDestroy, OnInit} from '@angular/core';
+import {Subscription} from 'rxjs';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
 import {Game} from '../../models/game.model';
 import {User} from '../../models/user.model';
-import {Report} from '../../models/report.model';
+import {RecruiterEvent, Report} from '../../models/report.model';
+import {AssessmentAnalytics} from '../../models/assessment.model';
 import {ApiService} from '../../services/api.service';
 import {AuthService} from '../../services/auth.service';
-import {Assessment} from '../../models/assessment.model';
 
 @Component({
   selector: 'app-recruiter-dashboard',
@@ -14,10 +15,12 @@ import {Assessment} from '../../models/assessment.model';
   templateUrl: './recruiter-dashboard.component.html',
   styleUrl: './recruiter-dashboard.component.css'
 })
-export class RecruiterDashboardComponent implements OnInit{
+export class RecruiterDashboardComponent implements OnInit, OnDestroy {
   games: Game[] = [];
   reports: Report[] = [];
+  analytics: AssessmentAnalytics | null = null;
   currentUser: User | null = null;
+  private events?: Subscription;
 
   // Modal states
   showCreateAssessmentModal = false;
@@ -37,6 +40,41 @@ export class RecruiterDashboardComponent implements OnInit{
   ngOnInit() {
     this.loadGames();
     this.loadReports();
+    this.loadAnalytics();
+    this.listenForUpdates();
+  }
+
+  ngOnDestroy() {
+    this.events?.unsubscribe();
+  }
+
+  // New reports and completions are pushed by the server instead of reloading the lists
+  listenForUpdates() {
+    if (this.currentUser?.id) {
+      this.events = this.apiService.recruiterEvents(this.currentUser.id).subscribe({
+        next: (event) => this.onRecruiterEvent(event),
+        error: (error) => {
+          console.error('Error receiving dashboard updates:', error);
+        }
+      });
+    }
+  }
+
+  private onRecruiterEvent(event: RecruiterEvent) {
+    switch (event.type) {
+      case 'report':
+        if (!this.reports.some(report => report.reportId === event.report.reportId)) {
+          this.reports = [...this.reports, event.report];
+        }
+        break;
+      case 'assessment-completed':
+        this.loadAnalytics();
+        break;
+      case 'resync':
+        this.loadReports();
+        this.loadAnalytics();
+        break;
+    }
   }
 
   loadGames() {
@@ -63,6 +101,19 @@ export class RecruiterDashboardComponent implements OnInit{
     }
   }
 
+  loadAnalytics() {
+    if (this.currentUser?.id) {
+      this.apiService.getRecruiterAnalytics(this.currentUser.id).subscribe({
+        next: (analytics) => {
+          this.analytics = analytics;
+        },
+        error: (error) => {
+          console.error('Error loading analytics:', error);
+        }
+      });
+    }
+  }
+
   openCreateAssessmentModal(game: Game) {
     this.selectedGame = game;
     this.showCreateAssessmentModal = true;
@@ -80,33 +131,32 @@ export class RecruiterDashboardComponent implements OnInit{
       return;
     }
 
-    // First, get candidate by email
-    this.apiService.getUserByEmail(this.candidateEmail).subscribe({
-      next: (candidate) => {
-        const assessment: Assessment = {
-          hrId: this.currentUser!.id!,
-          candidateId: candidate.id!,
-          gameId: this.selectedGame!.id!,
-          companyId: this.currentUser!.company?.id!,
-          status: 'PENDING',
-          dueDate: this.dueDate
-        };
-
-        this.apiService.createAssessment(assessment).subscribe({
-          next: (result) => {
-            console.log('Assessment created successfully:', result);
-            this.closeCreateAssessmentModal();
-            alert('Assessment created successfully!');
-          },
-          error: (error) => {
-            console.error('Error creating assessment:', error);
-            alert('Failed to create assessment. Please try again.');
-          }
-        });
+    // Several candidates can be invited at once, separated by commas, semicolons or new lines
+    const candidateEmails = this.candidateEmail.split(/[\s,;]+/).filter(email => email.length > 0);
+
+    this.apiService.inviteCandidates({
+      hrId: this.currentUser.id!,
+      companyId: this.currentUser.company?.id,
+      gameId: this.selectedGame.id!,
+      dueDate: this.dueDate,
+      candidateEmails: candidateEmails
+    }).subscribe({
+      next: (result) => {
+        console.log('Assessments created successfully:', result);
+        if (result.invited === 0) {
+          alert('Candidate not found with this email address.');
+          return;
+        }
+        this.closeCreateAssessmentModal();
+        if (result.unknownEmails.length > 0) {
+          alert(`${result.invited} assessment(s) created. No candidate found for: ${result.unknownEmails.join(', ')}`);
+        } else {
+          alert(result.invited === 1 ? 'Assessment created successfully!' : `${result.invited} assessments created successfully!`);
+        }
       },
       error: (error) => {
-        console.error('Error finding candidate:', error);
-        alert('Candidate not found with this email address.');
+        console.error('Error creating assessment:', error);
+        alert('Failed to create assessment. Please try again.');
       }
     });
   }
@@ -114,6 +164,17 @@ export class RecruiterDashboardComponent implements OnInit{
   viewReportDetails(report: Report) {
     this.selectedReport = report;
     this.showReportDetailsModal = true;
+    // The list holds report summaries; the feedback text comes with the full report
+    if (report.feedback === undefined && report.reportId) {
+      this.apiService.getReportById(report.reportId).subscribe({
+        next: (full) => {
+          if (this.selectedReport?.reportId === full.reportId) {
+            this.selectedReport = full;
+          }
+        },
+        error: (error) => console.error('Error loading report:', error)
+      });
+    }
   }
 
   closeReportDetailsModal() {
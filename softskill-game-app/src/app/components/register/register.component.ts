@@ -33,7 +33,7 @@ export class RegisterComponent {
   }
 
   loadCompanies() {
-    this.apiService.getAllCompanies().subscribe({
+    this.apiService.getCompanySummaries().subscribe({
       next: (companies) => {
         this.companies = companies;
       },
@@ -9,3 +9,76 @@ export interface Assessment {
   updatedAt?: string;
   dueDate: string;
 }
+
+export interface CandidateAssessmentView extends Assessment {
+  game?: {
+    id?: number;
+    gameName: string;
+    gameDescription: string;
+    skillName: string;
+    gameUrl: string;
+    gameImage: string;
+    gameType: 'CRITICAL_THINKING' | 'MEMORY_FOCUS' | 'CODE_BREAKER';
+  };
+  company?: {
+    id?: number;
+    companyName: string;
+    companyNumber: string;
+  };
+}
+
+export interface CandidateDashboard {
+  pending: CandidateAssessmentView[];
+  completed: CandidateAssessmentView[];
+  expired: CandidateAssessmentView[];
+}
+
+export interface AssessmentCompletion {
+  score: string;
+  feedback: string;
+  gameData?: string;
+  skillType?: string;
+  reportFeedback?: string;
+}
+
+export interface BulkInvitation {
+  hrId: number;
+  companyId?: number;
+  gameId: number;
+  dueDate: string;
+  candidateEmails: string[];
+}
+
+export interface BulkInvitationResult {
+  invited: number;
+  assessmentIds: number[];
+  unknownEmails: string[];
+}
+
+export interface SkillScoreStats {
+  skill: string;
+  scores: number;
+  averageScore?: number;
+  medianScore?: number;
+  averageSecondsToComplete?: number;
+}
+
+export interface CompletedAssessment {
+  assessmentId: number;
+  hrId: number;
+  candidateId: number;
+  gameId: number;
+  scoreId: number;
+  score: string;
+  completedAt: string;
+}
+
+export interface AssessmentAnalytics {
+  assessments: number;
+  pending: number;
+  completed: number;
+  expired: number;
+  completionRate?: number;
+  averageSecondsToComplete?: number;
+  skills: SkillScoreStats[];
+}
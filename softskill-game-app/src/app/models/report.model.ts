@@ -1,3 +1,5 @@
+import { CompletedAssessment } from './assessment.model';
+
 export interface Report {
   reportId?: number;
   userId: number;
@@ -6,6 +8,12 @@ export interface Report {
   email: string;
   score: string;
   skillType: string;
-  feedback: string;
+  feedback?: string; // not included in report lists, see ApiService.getReportById
   createdAt?: string;
 }
+
+// Pushed on the recruiter event stream as assessments complete and their reports are written
+export type RecruiterEvent =
+  | { type: 'assessment-completed'; completion: CompletedAssessment }
+  | { type: 'report'; report: Report }
+  | { type: 'resync' };
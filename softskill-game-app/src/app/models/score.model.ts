@@ -6,4 +6,9 @@ export interface Score {
   feedback: string;
   completedAt?: string;
   gameData?: string;
+  scoreValue?: number;
+  gameType?: string;
+  timeSpentSeconds?: number;
+  attempts?: number;
+  accuracy?: number;
 }
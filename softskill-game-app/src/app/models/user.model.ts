@@ -3,11 +3,17 @@ export interface User {
   firstName: string;
   lastName: string;
   email: string;
-  password: string;
+  password?: string;
   role: 'RECRUITER' | 'CANDIDATE';
   company?: Company;
 }
 
+export interface LoginResponse {
+  token: string;
+  expiresAt: string;
+  user: User;
+}
+
 export interface Company {
   id?: number;
   companyName: string;
@@ -1,11 +1,12 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
-import { User, Company } from '../models/user.model';
+import { EMPTY, Observable, expand, reduce } from 'rxjs';
+import { User, Company, LoginResponse } from '../models/user.model';
 import { Game } from '../models/game.model';
-import { Assessment } from '../models/assessment.model';
+import { Assessment, AssessmentAnalytics, AssessmentCompletion, BulkInvitation, BulkInvitationResult, CandidateDashboard } from '../models/assessment.model';
 import { Score } from '../models/score.model';
-import { Report } from '../models/report.model';
+import { RecruiterEvent, Report } from '../models/report.model';
+import { AuthService } from './auth.service';
 
 @Injectable({
   providedIn: 'root'
@@ -13,11 +14,11 @@ import { Report } from '../models/report.model';
 export class ApiService {
   private baseUrl = 'http://localhost:8081/api';
 
-  constructor(private http: HttpClient) {}
+  constructor(private http: HttpClient, private authService: AuthService) {}
 
   // User endpoints
-  login(credentials: { email: string; password: string }): Observable<User> {
-    return this.http.post<User>(`${this.baseUrl}/users/login`, credentials);
+  login(credentials: { email: string; password: string }): Observable<LoginResponse> {
+    return this.http.post<LoginResponse>(`${this.baseUrl}/users/login`, credentials);
   }
 
   createUser(user: User): Observable<User> {
@@ -33,6 +34,10 @@ export class ApiService {
     return this.http.get<Company[]>(`${this.baseUrl}/companies`);
   }
 
+  getCompanySummaries(): Observable<Company[]> {
+    return this.http.get<Company[]>(`${this.baseUrl}/companies/summaries`);
+  }
+
   createCompany(company: Company): Observable<Company> {
     return this.http.post<Company>(`${this.baseUrl}/companies`, company);
   }
@@ -59,25 +64,41 @@ export class ApiService {
     return this.http.post<Assessment>(`${this.baseUrl}/assessments`, assessment);
   }
 
+  inviteCandidates(invitation: BulkInvitation): Observable<BulkInvitationResult> {
+    return this.http.post<BulkInvitationResult>(`${this.baseUrl}/assessments/bulk`, invitation);
+  }
+
+  getRecruiterAnalytics(hrId: number): Observable<AssessmentAnalytics> {
+    return this.http.get<AssessmentAnalytics>(`${this.baseUrl}/assessments/analytics/recruiter/${hrId}`);
+  }
+
   getAssessmentsByCandidateId(candidateId: number): Observable<Assessment[]> {
-    return this.http.get<Assessment[]>(`${this.baseUrl}/assessments/candidate/${candidateId}`);
+    return this.getAllPages<Assessment>(`${this.baseUrl}/assessments/candidate/${candidateId}`);
+  }
+
+  getCandidateDashboard(candidateId: number): Observable<CandidateDashboard> {
+    return this.http.get<CandidateDashboard>(`${this.baseUrl}/assessments/candidate/${candidateId}/dashboard`);
   }
 
   getAssessmentsByHrId(hrId: number): Observable<Assessment[]> {
-    return this.http.get<Assessment[]>(`${this.baseUrl}/assessments/hr/${hrId}`);
+    return this.getAllPages<Assessment>(`${this.baseUrl}/assessments/hr/${hrId}`);
   }
 
   updateAssessment(id: number, assessment: Assessment): Observable<Assessment> {
     return this.http.put<Assessment>(`${this.baseUrl}/assessments/${id}`, assessment);
   }
 
+  completeAssessment(id: number, completion: AssessmentCompletion): Observable<any> {
+    return this.http.post<any>(`${this.baseUrl}/assessments/${id}/complete`, completion);
+  }
+
   // Score endpoints
   createScore(score: Score): Observable<Score> {
     return this.http.post<Score>(`${this.baseUrl}/scores`, score);
   }
 
   getScoresByHrId(hrId: number): Observable<any[]> {
-    return this.http.get<any[]>(`${this.baseUrl}/reports/user/${hrId}`);
+    return this.getAllPages<any>(`${this.baseUrl}/reports/user/${hrId}`);
   }
 
   // Report endpoints
@@ -86,7 +107,40 @@ export class ApiService {
   }
 
   getReportsByUserId(userId: number): Observable<Report[]> {
-    return this.http.get<Report[]>(`${this.baseUrl}/reports/user/${userId}`);
+    return this.getAllPages<Report>(`${this.baseUrl}/reports/user/${userId}`);
+  }
+
+  getReportById(reportId: number): Observable<Report> {
+    return this.http.get<Report>(`${this.baseUrl}/reports/${reportId}`);
+  }
+
+  // Server-sent events for a recruiter dashboard. The browser reconnects on its own and the
+  // server replays only what was missed; EventSource cannot send headers, so the token is a parameter.
+  recruiterEvents(hrId: number): Observable<RecruiterEvent> {
+    return new Observable<RecruiterEvent>(subscriber => {
+      const token = this.authService.getToken();
+      const query = token ? `?access_token=${encodeURIComponent(token)}` : '';
+      const source = new EventSource(`${this.baseUrl}/events/recruiter/${hrId}${query}`);
+      source.addEventListener('assessment-completed', event =>
+        subscriber.next({ type: 'assessment-completed', completion: JSON.parse((event as MessageEvent).data) }));
+      source.addEventListener('report', event =>
+        subscriber.next({ type: 'report', report: JSON.parse((event as MessageEvent).data) }));
+      source.addEventListener('resync', () => subscriber.next({ type: 'resync' }));
+      return () => source.close();
+    });
+  }
+
+  // The per-user lists come one page at a time; follow the X-Next-Cursor header to the last page.
+  private getAllPages<T>(url: string): Observable<T[]> {
+    const page = (after?: string) =>
+      this.http.get<T[]>(url, { observe: 'response', params: after ? { after } : {} });
+    return page().pipe(
+      expand(response => {
+        const next = response.headers.get('X-Next-Cursor');
+        return next ? page(next) : EMPTY;
+      }),
+      reduce((all, response) => all.concat(response.body ?? []), [] as T[])
+    );
   }
 
 
@@ -16,6 +16,15 @@ export class AuthService {
     }
   }
 
+  setSession(token: string, user: User) {
+    localStorage.setItem('sessionToken', token);
+    this.setCurrentUser(user);
+  }
+
+  getToken(): string | null {
+    return localStorage.getItem('sessionToken');
+  }
+
   setCurrentUser(user: User) {
     localStorage.setItem('currentUser', JSON.stringify(user));
     this.currentUserSubject.next(user);
@@ -26,6 +35,7 @@ export class AuthService {
   }
 
   logout() {
+    localStorage.removeItem('sessionToken');
     localStorage.removeItem('currentUser');
     this.currentUserSubject.next(null);
   }
@@ -0,0 +1,55 @@
+package com.example.gameimpl.benchmark;
+
+import com.example.gameimpl.model.Company;
+import com.example.gameimpl.model.Score;
+import com.example.gameimpl.model.User;
+import com.example.gameimpl.model.UserRole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+/**
+ * Fixtures shared by the benchmarks; payloads are shaped like the game components' gameData.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    /** A code breaker style document of roughly {@code bytes} characters. */
+    static String gameData(int bytes) {
+        StringBuilder json = new StringBuilder("{\"timeSpent\":\"2:15\",\"attempts\":7,\"history\":[");
+        int guess = 0;
+        while (json.length() < bytes - 64) {
+            if (guess > 0) {
+                json.append(',');
+            }
+            json.append("{\"guess\":\"").append(String.format("%04d", guess % 10000))
+                    .append("\",\"correct\":").append(guess % 4)
+                    .append(",\"misplaced\":").append((guess * 7) % 4).append('}');
+            guess++;
+        }
+        return json.append("],\"solved\":true}").toString();
+    }
+
+    static Score score(int id, int gameDataBytes) {
+        Score score = new Score();
+        score.setScoreId(id);
+        score.setAssessmentId(id);
+        score.setCandidateId(id);
+        score.setScore("87");
+        score.setScoreValue(87);
+        score.setGameType("CODE_BREAKER");
+        score.setTimeSpentSeconds(135);
+        score.setAttempts(7);
+        score.setFeedback("Solved the code in 7 attempts.");
+        score.setCompletedAt(LocalDateTime.of(2025, 6, 1, 10, 30));
+        score.setGameData(gameData(gameDataBytes));
+        return score;
+    }
+
+    static User recruiter() {
+        Company company = new Company(1, "Bench Ltd", "BENCH-1", new ArrayList<>());
+        return new User(1, "Rita", "Recruiter", UserRole.RECRUITER, "rita@bench.example", "secret", company);
+    }
+}
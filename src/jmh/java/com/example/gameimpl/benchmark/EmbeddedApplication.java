@@ -0,0 +1,108 @@
+package com.example.gameimpl.benchmark;
+
+import com.example.gameimpl.GameimplApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The application without its web server, on an in-memory H2 database migrated by Flyway and
+ * seeded with one company, one recruiter and {@value #CANDIDATES} candidates holding
+ * {@value #ASSESSMENTS_PER_CANDIDATE} assessments each, half of them completed with a score.
+ */
+@State(Scope.Benchmark)
+public class EmbeddedApplication {
+
+    static final int CANDIDATES = 500;
+    static final int ASSESSMENTS_PER_CANDIDATE = 20;
+    static final int RECRUITER_ID = 1;
+    static final int COMPANY_ID = 1;
+    static final int GAME_DATA_BYTES = 4096;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(GameimplApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:jmh;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--app.assessments.expiry.enabled=false",
+                        "--logging.level.root=WARN");
+        seed(bean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /** Candidate ids run from 2 to {@code CANDIDATES + 1}. */
+    static int candidateId(int n) {
+        return 2 + Math.floorMod(n, CANDIDATES);
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        jdbc.update("insert into company (id, company_name, company_number) values (?, 'Bench Ltd', 'BENCH-1')", COMPANY_ID);
+        jdbc.update("insert into users (id, first_name, last_name, role, email, password, company_id) "
+                + "values (?, 'Rita', 'Recruiter', 'RECRUITER', 'rita@bench.example', 'secret', ?)",
+                RECRUITER_ID, COMPANY_ID);
+        String[][] games = {
+                {"Code Breaker", "Problem Solving", "CODE_BREAKER"},
+                {"Critical Thinking", "Critical Thinking", "CRITICAL_THINKING"},
+                {"Memory Focus", "Attention", "MEMORY_FOCUS"}};
+        for (int g = 0; g < games.length; g++) {
+            jdbc.update("insert into game (id, game_name, game_description, skill_name, game_url, game_image, active, game_type) "
+                    + "values (?, ?, 'benchmark', ?, '/games', '/img.png', true, ?)", g + 1, games[g][0], games[g][1], games[g][2]);
+        }
+
+        List<Object[]> candidates = new ArrayList<>();
+        List<Object[]> assessments = new ArrayList<>();
+        List<Object[]> scores = new ArrayList<>();
+        String gameData = BenchmarkData.gameData(GAME_DATA_BYTES);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp due = Timestamp.valueOf(LocalDateTime.now().plusDays(7));
+        int assessmentId = 0;
+        for (int c = 0; c < CANDIDATES; c++) {
+            int candidateId = candidateId(c);
+            candidates.add(new Object[]{candidateId, "Candidate", String.valueOf(c), "candidate" + c + "@bench.example"});
+            for (int a = 0; a < ASSESSMENTS_PER_CANDIDATE; a++) {
+                assessmentId++;
+                int game = 1 + a % games.length;
+                boolean completed = a % 2 == 0;
+                assessments.add(new Object[]{assessmentId, RECRUITER_ID, candidateId, game, COMPANY_ID,
+                        completed ? "COMPLETED" : "PENDING", now, due});
+                if (completed) {
+                    int value = (assessmentId * 37) % 101;
+                    scores.add(new Object[]{assessmentId, candidateId, String.valueOf(value), value,
+                            games[game - 1][2], now, gameData});
+                }
+            }
+        }
+        jdbc.batchUpdate("insert into users (id, first_name, last_name, role, email, password) "
+                + "values (?, ?, ?, 'CANDIDATE', ?, 'secret')", candidates);
+        jdbc.batchUpdate("insert into assessment (id, hr_id, candidate_id, game_id, company_id, status, created_at, due_date) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?)", assessments);
+        jdbc.batchUpdate("insert into score (assessment_id, candidate_id, score, score_value, game_type, completed_at, game_data) "
+                + "values (?, ?, ?, ?, ?, ?, ? format json)", scores);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.gameimpl.benchmark;
+
+import com.example.gameimpl.model.Score;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round trip of a {@link Score} as the controllers do it, for gameData documents from
+ * 1 KB to 1 MB. The mapper is built like Spring Boot's, with the java.time module registered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoreSerializationBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    public int payloadBytes;
+
+    private ObjectMapper objectMapper;
+    private Score score;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        score = BenchmarkData.score(1, payloadBytes);
+        json = objectMapper.writeValueAsBytes(score);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(score);
+    }
+
+    @Benchmark
+    public Score deserialize() throws IOException {
+        return objectMapper.readValue(json, Score.class);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.gameimpl.benchmark;
+
+import com.example.gameimpl.dto.AssessmentAnalytics;
+import com.example.gameimpl.dto.CandidateDashboard;
+import com.example.gameimpl.dto.CursorPage;
+import com.example.gameimpl.model.Assessment;
+import com.example.gameimpl.model.Score;
+import com.example.gameimpl.service.AssessmentAnalyticsService;
+import com.example.gameimpl.service.AssessmentService;
+import com.example.gameimpl.service.ScoreService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service methods behind the candidate and recruiter pages, against the seeded embedded database.
+ * Each invocation targets the next candidate so the results are not dominated by one row set.
+ * {@code saveScore} inserts a row per invocation. The analytics aggregate all
+ * {@value EmbeddedApplication#CANDIDATES} x {@value EmbeddedApplication#ASSESSMENTS_PER_CANDIDATE}
+ * assessments of the one recruiter and company, so they show the cost of the native skill queries
+ * on H2; PostgreSQL plans for larger tables are checked with {@code explain (analyze, buffers)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private AssessmentService assessmentService;
+    private AssessmentAnalyticsService assessmentAnalyticsService;
+    private ScoreService scoreService;
+    private String gameData;
+    private int next;
+
+    @Setup
+    public void setUp(EmbeddedApplication application) {
+        assessmentService = application.bean(AssessmentService.class);
+        assessmentAnalyticsService = application.bean(AssessmentAnalyticsService.class);
+        scoreService = application.bean(ScoreService.class);
+        gameData = BenchmarkData.gameData(EmbeddedApplication.GAME_DATA_BYTES);
+    }
+
+    @Benchmark
+    public CandidateDashboard candidateDashboard() {
+        return assessmentService.getCandidateDashboard(EmbeddedApplication.candidateId(next++));
+    }
+
+    @Benchmark
+    public CursorPage<Assessment> recruiterAssessmentPage() {
+        return assessmentService.getAssessmentsByHrId(EmbeddedApplication.RECRUITER_ID, null, 100);
+    }
+
+    @Benchmark
+    public AssessmentAnalytics recruiterAnalytics() {
+        return assessmentAnalyticsService.getRecruiterAnalytics(EmbeddedApplication.RECRUITER_ID);
+    }
+
+    @Benchmark
+    public AssessmentAnalytics companyAnalytics() {
+        return assessmentAnalyticsService.getCompanyAnalytics(EmbeddedApplication.COMPANY_ID);
+    }
+
+    @Benchmark
+    public List<Score> candidateScores() {
+        return scoreService.getScoresByCandidateId(EmbeddedApplication.candidateId(next++));
+    }
+
+    @Benchmark
+    public Score saveScore() {
+        int candidateId = EmbeddedApplication.candidateId(next++);
+        Score score = new Score();
+        score.setAssessmentId((candidateId - 2) * EmbeddedApplication.ASSESSMENTS_PER_CANDIDATE + 1);
+        score.setCandidateId(candidateId);
+        score.setScore("75");
+        score.setFeedback("benchmark");
+        score.setGameData(gameData);
+        return scoreService.saveScore(score);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.gameimpl.benchmark;
+
+import com.example.gameimpl.model.User;
+import com.example.gameimpl.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link User} serialization with the application's ObjectMapper. {@code detached} has its
+ * company already in memory; {@code loadedWithLazyCompany} reads the user in a fresh persistence
+ * context, so {@code getCompanyNumber()} has to initialize the lazy company proxy while writing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private UserRepository userRepository;
+    private TransactionTemplate transactionTemplate;
+    private User detachedUser;
+
+    @Setup
+    public void setUp(EmbeddedApplication application) {
+        objectMapper = application.bean(ObjectMapper.class);
+        userRepository = application.bean(UserRepository.class);
+        transactionTemplate = new TransactionTemplate(application.bean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        detachedUser = BenchmarkData.recruiter();
+    }
+
+    @Benchmark
+    public byte[] detached() throws IOException {
+        return objectMapper.writeValueAsBytes(detachedUser);
+    }
+
+    @Benchmark
+    public byte[] loadedWithLazyCompany() {
+        return transactionTemplate.execute(status -> {
+            User user = userRepository.findById(EmbeddedApplication.RECRUITER_ID).orElseThrow();
+            try {
+                return objectMapper.writeValueAsBytes(user);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.gameimpl.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Blocking JSON client that times every call and files it under an endpoint name such as
+ * {@code GET /api/assessments/candidate/{id}/dashboard}. {@link #withToken} gives a client that
+ * calls as a logged-in user.
+ */
+final class ApiClient {
+
+    /** Response of a call; {@code body} is null for non-2xx responses and transport errors. */
+    record Response(int status, JsonNode body) {
+
+        boolean ok() {
+            return status / 100 == 2;
+        }
+    }
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final EndpointStats stats;
+    private final String token;
+
+    ApiClient(String baseUrl, ObjectMapper objectMapper, EndpointStats stats) {
+        this(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build(), baseUrl, objectMapper, stats, null);
+    }
+
+    private ApiClient(HttpClient http, String baseUrl, ObjectMapper objectMapper, EndpointStats stats, String token) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.stats = stats;
+        this.token = token;
+    }
+
+    /** A client sending {@code token} as its session token, sharing connections and statistics with this one. */
+    ApiClient withToken(String token) {
+        return new ApiClient(http, baseUrl, objectMapper, stats, token);
+    }
+
+    Response get(String endpoint, String path) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+    }
+
+    Response post(String endpoint, String path, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(json)));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+
+    private Response send(String endpoint, HttpRequest.Builder request) {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            boolean ok = response.statusCode() / 100 == 2;
+            stats.record(endpoint, System.nanoTime() - start, !ok);
+            JsonNode body = ok && response.body().length > 0 ? objectMapper.readTree(response.body()) : null;
+            return new Response(response.statusCode(), body);
+        } catch (IOException e) {
+            stats.record(endpoint, System.nanoTime() - start, true);
+            return new Response(0, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(0, null);
+        }
+    }
+}
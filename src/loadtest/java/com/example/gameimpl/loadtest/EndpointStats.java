@@ -0,0 +1,87 @@
+package com.example.gameimpl.loadtest;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latencies and error counts per endpoint. Latencies are kept in full (8 bytes per request) so
+ * the percentiles are exact; a few million requests fit comfortably in memory.
+ */
+final class EndpointStats {
+
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void add(long nanos, boolean error) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized int errors() {
+            return errors;
+        }
+    }
+
+    private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+
+    private volatile boolean recording;
+
+    void startRecording() {
+        endpoints.clear();
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+    }
+
+    void record(String endpoint, long nanos, boolean error) {
+        if (recording) {
+            endpoints.computeIfAbsent(endpoint, key -> new Samples()).add(nanos, error);
+        }
+    }
+
+    void print(PrintStream out, double seconds) {
+        out.printf("%-52s %8s %9s %8s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long total = 0;
+        long totalErrors = 0;
+        for (Map.Entry<String, Samples> entry : new TreeMap<>(endpoints).entrySet()) {
+            long[] latencies = entry.getValue().sorted();
+            int errors = entry.getValue().errors();
+            total += latencies.length;
+            totalErrors += errors;
+            out.printf("%-52s %8d %9.1f %7.2f%% %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey(), latencies.length, latencies.length / seconds,
+                    latencies.length > 0 ? errors * 100.0 / latencies.length : 0.0,
+                    percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99),
+                    percentile(latencies, 100));
+        }
+        out.printf("%-52s %8d %9.1f %7.2f%%%n", "total", total, total / seconds,
+                total > 0 ? totalErrors * 100.0 / total : 0.0);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.gameimpl.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Simulated game results: a score and a gameData document shaped like the one each game
+ * component submits, with a size that depends on how the game went (a few hundred bytes to a
+ * few kilobytes).
+ */
+final class GamePlays {
+
+    record Play(int score, String gameData) {
+    }
+
+    private final ObjectMapper objectMapper;
+
+    GamePlays(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    Play play(String gameType, RandomGenerator random) {
+        Map<String, Object> data = switch (gameType) {
+            case "CODE_BREAKER" -> codeBreaker(random);
+            case "CRITICAL_THINKING" -> criticalThinking(random);
+            default -> memoryFocus(random);
+        };
+        try {
+            return new Play(random.nextInt(20, 101), objectMapper.writeValueAsString(data));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, Object> codeBreaker(RandomGenerator random) {
+        int attempts = random.nextInt(1, 11);
+        List<Map<String, Object>> guesses = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            List<Integer> digits = List.of(random.nextInt(10), random.nextInt(10), random.nextInt(10), random.nextInt(10));
+            List<String> feedback = digits.stream()
+                    .map(digit -> switch (random.nextInt(3)) {
+                        case 0 -> "correct";
+                        case 1 -> "present";
+                        default -> "absent";
+                    })
+                    .toList();
+            guesses.add(Map.of("digits", digits, "feedback", feedback));
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("won", random.nextBoolean());
+        data.put("attempts", attempts);
+        data.put("maxAttempts", 10);
+        data.put("timeSpent", timeSpent(random));
+        data.put("secretCode", List.of(1, 2, 3, 4));
+        data.put("guessHistory", guesses);
+        data.put("problemSolvingMetrics", Map.of("totalAttempts", attempts, "timeSpent", random.nextInt(30, 600),
+                "strategicThinking", random.nextDouble(100), "logicalReasoning", random.nextDouble(100),
+                "persistence", random.nextDouble(100)));
+        return data;
+    }
+
+    private static Map<String, Object> criticalThinking(RandomGenerator random) {
+        int questions = 20;
+        List<Integer> answers = new ArrayList<>();
+        int correct = 0;
+        for (int i = 0; i < questions; i++) {
+            answers.add(random.nextInt(4));
+            correct += random.nextInt(3) > 0 ? 1 : 0;
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("correctAnswers", correct);
+        data.put("totalQuestions", questions);
+        data.put("timeSpent", timeSpent(random));
+        data.put("categories", Map.of("logic", random.nextInt(6), "analysis", random.nextInt(6),
+                "evaluation", random.nextInt(6), "inference", random.nextInt(6)));
+        data.put("answers", answers);
+        data.put("criticalThinkingMetrics", Map.of("analyticalThinking", random.nextDouble(100),
+                "logicalReasoning", random.nextDouble(100), "problemSolving", random.nextDouble(100)));
+        data.put("averageTimePerQuestion", random.nextDouble(5, 40));
+        return data;
+    }
+
+    private static Map<String, Object> memoryFocus(RandomGenerator random) {
+        int attempts = random.nextInt(8, 60);
+        List<Map<String, Object>> moves = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            moves.add(Map.of("first", random.nextInt(16), "second", random.nextInt(16),
+                    "matched", random.nextBoolean(), "responseMs", random.nextInt(300, 3000)));
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("matches", 8);
+        data.put("attempts", attempts);
+        data.put("timeSpent", timeSpent(random));
+        data.put("accuracy", 800.0 / attempts);
+        data.put("avgResponseTime", random.nextDouble(300, 3000));
+        data.put("memoryFocusMetrics", Map.of("memory", random.nextDouble(100), "focus", random.nextDouble(100)));
+        data.put("moves", moves);
+        return data;
+    }
+
+    private static String timeSpent(RandomGenerator random) {
+        int seconds = random.nextInt(30, 600);
+        return seconds / 60 + ":" + String.format("%02d", seconds % 60);
+    }
+}
@@ -0,0 +1,279 @@
+package com.example.gameimpl.loadtest;
+
+import com.example.gameimpl.GameimplApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application on a random port against an in-memory H2 database and drives a mix of
+ * recruiter and candidate sessions over HTTP, then prints throughput, latency percentiles and
+ * error rates per endpoint. Everything runs in one JVM without network access.
+ * <p>
+ * Settings (system properties): {@code loadtest.recruiters} (10), {@code loadtest.candidates}
+ * (200), {@code loadtest.warmup-seconds} (15), {@code loadtest.duration-seconds} (60),
+ * {@code loadtest.think-time-ms} (1000), {@code loadtest.report} (target/loadtest-report.txt).
+ * Any {@code spring.*} or {@code app.*} system property is applied to the application as usual.
+ * <p>
+ * {@code loadtest.threads=both} compares the request execution modes: the test runs once with
+ * platform and once with virtual threads ({@code spring.threads.virtual.enabled}), each on its own
+ * database, and writes one report per mode with the mode added to the file name. With
+ * {@code loadtest.think-time-ms=0} every session sends its next request as soon as the last one
+ * returned, so the candidates and recruiters are the number of concurrent clients. In virtual
+ * mode, requests over {@code app.virtual-threads.max-concurrent-requests} get a 503 after
+ * {@code app.virtual-threads.acquire-timeout-ms} and count as errors. H2 in the same JVM is not
+ * PostgreSQL; compare the two modes with each other, not with production latencies.
+ * <p>
+ * Every session logs in first and sends its session token. Recruiters poll their reports and
+ * assessment lists, load the game catalog and invite small groups of candidates. Candidates load their dashboard, play the first pending game for a few
+ * think times, submit the result and look at their scores.
+ */
+public final class LoadTest {
+
+    private static final String DASHBOARD = "GET /api/assessments/candidate/{id}/dashboard";
+    private static final String COMPLETE = "POST /api/assessments/{id}/complete";
+    private static final String CANDIDATE_SCORES = "GET /api/scores/candidate/{id}";
+    private static final String ACTIVE_GAMES = "GET /api/games/active";
+    private static final String RECRUITER_REPORTS = "GET /api/reports/user/{id}";
+    private static final String RECRUITER_ASSESSMENTS = "GET /api/assessments/hr/{id}";
+    private static final String INVITE = "POST /api/assessments/bulk";
+    private static final String LOGIN = "POST /api/users/login";
+    private static final String SETUP = "setup";
+
+    private record Game(int id, String gameType) {
+    }
+
+    private record Fixtures(int companyId, List<Game> games, List<Integer> recruiters, List<String> recruiterEmails,
+                            List<Integer> candidates, List<String> candidateEmails) {
+    }
+
+    private final int recruiters = Integer.getInteger("loadtest.recruiters", 10);
+    private final int candidates = Integer.getInteger("loadtest.candidates", 200);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 15);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+    private final int thinkTimeMillis = Integer.getInteger("loadtest.think-time-ms", 1000);
+    private final String threads;
+    private final Path report;
+
+    private final EndpointStats stats = new EndpointStats();
+    private ApiClient api;
+    private GamePlays gamePlays;
+    private Fixtures fixtures;
+    private volatile long deadline;
+
+    /**
+     * @param threads {@code platform} or {@code virtual} to set the execution mode and name the
+     *                report after it, or {@code null} to run as configured
+     */
+    private LoadTest(String threads) {
+        this.threads = threads;
+        Path configured = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.txt"));
+        this.report = threads == null ? configured : configured.resolveSibling(
+                configured.getFileName().toString().replaceFirst("(\\.[^.]*)?$", "-" + threads + "$1"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        String threads = System.getProperty("loadtest.threads", "");
+        switch (threads) {
+            case "" -> new LoadTest(null).run(args);
+            case "platform", "virtual" -> new LoadTest(threads).run(args);
+            case "both" -> {
+                new LoadTest("platform").run(args);
+                new LoadTest("virtual").run(args);
+            }
+            default -> throw new IllegalArgumentException("loadtest.threads must be platform, virtual or both: " + threads);
+        }
+    }
+
+    private void run(String[] args) throws Exception {
+        Stream<String> modeArgs = threads == null
+                ? Stream.of()
+                : Stream.of("--spring.threads.virtual.enabled=" + threads.equals("virtual"));
+        String[] appArgs = Stream.of(Stream.of(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest" + (threads == null ? "" : "_" + threads)
+                                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--app.assessments.expiry.enabled=false",
+                        "--logging.level.root=WARN"),
+                modeArgs, Stream.of(args)).flatMap(arg -> arg).toArray(String[]::new);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(GameimplApplication.class)
+                .logStartupInfo(false)
+                .run(appArgs)) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            api = new ApiClient("http://localhost:" + port + "/api", objectMapper, stats);
+            gamePlays = new GamePlays(objectMapper);
+            fixtures = seed();
+
+            long start = System.currentTimeMillis();
+            deadline = start + (warmupSeconds + durationSeconds) * 1000L;
+            try (ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor()) {
+                fixtures.recruiters().forEach(id -> sessions.submit(() -> recruiterSession(id)));
+                fixtures.candidates().forEach(id -> sessions.submit(() -> candidateSession(id)));
+                Thread.sleep(warmupSeconds * 1000L);
+                stats.startRecording();
+                long measured = System.nanoTime();
+                Thread.sleep(durationSeconds * 1000L);
+                stats.stopRecording();
+                report((System.nanoTime() - measured) / 1e9);
+            }
+        }
+    }
+
+    private Fixtures seed() {
+        int companyId = id(api.post(SETUP, "/companies", Map.of("companyName", "Load Test Ltd", "companyNumber", "LOAD-1")));
+        List<Game> games = new ArrayList<>();
+        String[][] catalog = {
+                {"Code Breaker", "Problem Solving", "CODE_BREAKER"},
+                {"Critical Thinking", "Critical Thinking", "CRITICAL_THINKING"},
+                {"Memory Focus", "Attention", "MEMORY_FOCUS"}};
+        for (String[] game : catalog) {
+            int id = id(api.post(SETUP, "/games", Map.of("gameName", game[0], "gameDescription", "Load test",
+                    "skillName", game[1], "gameUrl", "/games", "gameImage", "/game.png", "active", true, "gameType", game[2])));
+            games.add(new Game(id, game[2]));
+        }
+        List<Integer> recruiterIds = new ArrayList<>();
+        List<String> recruiterEmails = new ArrayList<>();
+        List<ApiClient> recruiterApis = new ArrayList<>();
+        for (int i = 0; i < recruiters; i++) {
+            String email = "recruiter" + i + "@load.example";
+            recruiterIds.add(id(api.post(SETUP, "/users", user("Recruiter", i, email, "RECRUITER"))));
+            recruiterEmails.add(email);
+            recruiterApis.add(login(SETUP, email));
+        }
+        List<Integer> candidateIds = new ArrayList<>();
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < candidates; i++) {
+            String email = "candidate" + i + "@load.example";
+            candidateIds.add(id(api.post(SETUP, "/users", user("Candidate", i, email, "CANDIDATE"))));
+            emails.add(email);
+        }
+        Fixtures seeded = new Fixtures(companyId, List.copyOf(games), List.copyOf(recruiterIds), List.copyOf(recruiterEmails),
+                List.copyOf(candidateIds), List.copyOf(emails));
+        for (int i = 0; i < candidates; i++) {
+            invite(seeded, recruiterApis.get(i % recruiters), List.of(emails.get(i)), games.get(i % games.size()), SETUP);
+        }
+        return seeded;
+    }
+
+    private void recruiterSession(int recruiterId) {
+        RandomGenerator random = ThreadLocalRandom.current();
+        ApiClient session = login(LOGIN, fixtures.recruiterEmails().get(fixtures.recruiters().indexOf(recruiterId)));
+        while (System.currentTimeMillis() < deadline) {
+            double action = random.nextDouble();
+            if (action < 0.4) {
+                session.get(RECRUITER_REPORTS, "/reports/user/" + recruiterId + "?limit=50");
+            } else if (action < 0.6) {
+                session.get(RECRUITER_ASSESSMENTS, "/assessments/hr/" + recruiterId + "?limit=50");
+            } else if (action < 0.75) {
+                session.get(ACTIVE_GAMES, "/games/active");
+            } else {
+                int size = random.nextInt(1, 6);
+                List<String> invited = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    invited.add(fixtures.candidateEmails().get(random.nextInt(fixtures.candidateEmails().size())));
+                }
+                invite(fixtures, session, invited, fixtures.games().get(random.nextInt(fixtures.games().size())), INVITE);
+            }
+            think(random, 1);
+        }
+    }
+
+    private void candidateSession(int candidateId) {
+        RandomGenerator random = ThreadLocalRandom.current();
+        ApiClient session = login(LOGIN, fixtures.candidateEmails().get(fixtures.candidates().indexOf(candidateId)));
+        while (System.currentTimeMillis() < deadline) {
+            ApiClient.Response dashboard = session.get(DASHBOARD, "/assessments/candidate/" + candidateId + "/dashboard");
+            JsonNode pending = dashboard.body() != null ? dashboard.body().path("pending") : null;
+            if (pending == null || pending.isEmpty()) {
+                session.get(ACTIVE_GAMES, "/games/active");
+                think(random, 2);
+                continue;
+            }
+            JsonNode assessment = pending.get(0);
+            GamePlays.Play play = gamePlays.play(assessment.path("game").path("gameType").asText(), random);
+            think(random, 3);
+            session.post(COMPLETE, "/assessments/" + assessment.path("id").asInt() + "/complete", Map.of(
+                    "score", String.valueOf(play.score()),
+                    "feedback", "Load test result",
+                    "gameData", play.gameData(),
+                    "reportFeedback", "Load test report"));
+            session.get(CANDIDATE_SCORES, "/scores/candidate/" + candidateId);
+            think(random, 1);
+        }
+    }
+
+    /** Invites as the logged-in recruiter behind {@code recruiter}. */
+    private void invite(Fixtures fixtures, ApiClient recruiter, List<String> emails, Game game, String endpoint) {
+        recruiter.post(endpoint, "/assessments/bulk", Map.of(
+                "companyId", fixtures.companyId(),
+                "gameId", game.id(),
+                "dueDate", LocalDateTime.now().plusDays(7).withNano(0).toString(),
+                "candidateEmails", emails));
+    }
+
+    /** Sleeps for {@code factor} think times on average, uniformly spread between half and one and a half. */
+    private void think(RandomGenerator random, int factor) {
+        long millis = (long) (thinkTimeMillis * factor * random.nextDouble(0.5, 1.5));
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deadline = 0;
+        }
+    }
+
+    private void report(double seconds) throws IOException {
+        System.out.printf("%nLoad test: %d recruiters, %d candidates, think time %d ms, %.0f s measured after %d s warm-up%s%n%n",
+                recruiters, candidates, thinkTimeMillis, seconds, warmupSeconds,
+                threads == null ? "" : ", " + threads + " threads");
+        stats.print(System.out, seconds);
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        try (PrintStream out = new PrintStream(new FileOutputStream(report.toFile()), true, StandardCharsets.UTF_8)) {
+            stats.print(out, seconds);
+        }
+        System.out.println();
+        System.out.println("Report written to " + report.toAbsolutePath());
+    }
+
+    /** Logs in with the seeded password; endpoints serving one user's data need the session token. */
+    private ApiClient login(String endpoint, String email) {
+        ApiClient.Response response = api.post(endpoint, "/users/login", Map.of("email", email, "password", "password123"));
+        if (!response.ok() || response.body() == null) {
+            throw new IllegalStateException("Login of " + email + " failed with HTTP " + response.status());
+        }
+        return api.withToken(response.body().path("token").asText());
+    }
+
+    private static Map<String, Object> user(String firstName, int n, String email, String role) {
+        return Map.of("firstName", firstName, "lastName", String.valueOf(n), "email", email,
+                "password", "password123", "role", role);
+    }
+
+    private static int id(ApiClient.Response response) {
+        if (!response.ok() || response.body() == null) {
+            throw new IllegalStateException("Seeding failed with HTTP " + response.status());
+        }
+        return response.body().path("id").asInt();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.gameimpl.auth;
+
+import com.example.gameimpl.model.UserRole;
+
+import java.time.Instant;
+
+/**
+ * The caller of a request, as carried by a verified session token. Controllers receive it as
+ * the request attribute {@link #ATTRIBUTE}; it is absent on requests without a token.
+ */
+public record SessionPrincipal(
+        Integer userId,
+        UserRole role,
+        Integer companyId,
+        Instant expiresAt
+) {
+
+    public static final String ATTRIBUTE = "com.example.gameimpl.auth.SessionPrincipal";
+
+    public boolean isUser(Integer id) {
+        return userId.equals(id);
+    }
+
+    public boolean isRecruiter() {
+        return role == UserRole.RECRUITER;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.gameimpl.auth;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Verifies the {@code Authorization: Bearer} session token of API requests and exposes the
+ * caller as the {@link SessionPrincipal#ATTRIBUTE} request attribute. Only the signature and
+ * expiry are checked, the database is not read.
+ * <p>
+ * The recruiter event stream alone also takes the token as the {@code access_token} query
+ * parameter, because browsers cannot set headers on an {@code EventSource}. A token in a URL can
+ * end up in access logs and proxy logs, so everywhere else the parameter is ignored and the
+ * request counts as one without a token.
+ * <p>
+ * A present but invalid or expired token is rejected with 401. Requests without a token pass
+ * through anonymously unless {@code app.auth.required=true}, in which case only login,
+ * registration and the data the registration form needs stay public.
+ */
+@Component
+public class SessionTokenFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+    private static final String ACCESS_TOKEN = "access_token";
+    private static final String EVENT_STREAMS = "/api/events/recruiter/";
+
+    @Autowired
+    private SessionTokens sessionTokens;
+
+    @Value("${app.auth.required:false}")
+    private boolean required;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = token(request);
+        if (token != null) {
+            Optional<SessionPrincipal> principal = sessionTokens.verify(token);
+            if (principal.isEmpty()) {
+                response.sendError(HttpStatus.UNAUTHORIZED.value(), "Invalid or expired session token");
+                return;
+            }
+            request.setAttribute(SessionPrincipal.ATTRIBUTE, principal.get());
+        } else if (required && !isPublic(request)) {
+            response.sendError(HttpStatus.UNAUTHORIZED.value(), "Session token required");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /** The bearer token, or on the event stream the {@code access_token} parameter. */
+    private static String token(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            return header.substring(BEARER.length()).trim();
+        }
+        boolean eventStream = HttpMethod.GET.matches(request.getMethod())
+                && request.getRequestURI().startsWith(EVENT_STREAMS);
+        return eventStream ? request.getParameter(ACCESS_TOKEN) : null;
+    }
+
+    private static boolean isPublic(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        return HttpMethod.OPTIONS.matches(method)
+                || HttpMethod.POST.matches(method) && (path.equals("/api/users/login") || path.equals("/api/users"))
+                || HttpMethod.GET.matches(method) && path.startsWith("/api/companies/summaries");
+    }
+}
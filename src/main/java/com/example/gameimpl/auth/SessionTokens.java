@@ -0,0 +1,115 @@
+package com.example.gameimpl.auth;
+
+import com.example.gameimpl.model.User;
+import com.example.gameimpl.model.UserRole;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies compact HMAC-SHA256 signed session tokens of the form
+ * {@code base64url(userId:role:companyId:expiresAt).base64url(signature)}, so a request can be
+ * attributed to a user, role and company without reading the database.
+ * <p>
+ * The key comes from {@code app.auth.token-secret} (base64, at least 32 bytes). Without one a
+ * random key is generated at startup and tokens do not survive a restart.
+ */
+@Component
+public class SessionTokens {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionTokens.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /** A signed token and the instant it stops being accepted. */
+    public record Issued(String token, Instant expiresAt) {
+    }
+
+    @Value("${app.auth.token-secret:}")
+    private String secret;
+
+    @Value("${app.auth.token-ttl-minutes:480}")
+    private long ttlMinutes;
+
+    private final Clock clock = Clock.systemUTC();
+
+    private SecretKeySpec key;
+
+    @PostConstruct
+    void createKey() {
+        byte[] keyBytes;
+        if (secret.isBlank()) {
+            log.warn("app.auth.token-secret is not set; using a random key, sessions end when the application restarts");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret);
+            if (keyBytes.length < 32) {
+                throw new IllegalStateException("app.auth.token-secret must decode to at least 32 bytes");
+            }
+        }
+        key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    public Issued issue(User user) {
+        Instant expiresAt = clock.instant().plus(Duration.ofMinutes(ttlMinutes));
+        Integer companyId = user.getCompany() != null ? user.getCompany().getId() : null;
+        String claims = user.getId() + ":" + user.getRole() + ":" + (companyId != null ? companyId : "")
+                + ":" + expiresAt.getEpochSecond();
+        String payload = ENCODER.encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+        return new Issued(payload + "." + ENCODER.encodeToString(sign(payload)), expiresAt);
+    }
+
+    /**
+     * @return the principal of a well-formed, correctly signed and unexpired token, otherwise empty
+     */
+    public Optional<SessionPrincipal> verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, dot);
+        try {
+            if (!MessageDigest.isEqual(sign(payload), DECODER.decode(token.substring(dot + 1)))) {
+                return Optional.empty();
+            }
+            String[] claims = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split(":", -1);
+            if (claims.length != 4) {
+                return Optional.empty();
+            }
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(claims[3]));
+            if (!expiresAt.isAfter(clock.instant())) {
+                return Optional.empty();
+            }
+            return Optional.of(new SessionPrincipal(Integer.valueOf(claims[0]), UserRole.valueOf(claims[1]),
+                    claims[2].isEmpty() ? null : Integer.valueOf(claims[2]), expiresAt));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign session token", e);
+        }
+    }
+}
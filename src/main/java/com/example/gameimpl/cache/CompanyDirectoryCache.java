@@ -0,0 +1,64 @@
+package com.example.gameimpl.cache;
+
+import com.example.gameimpl.dto.CompanySummary;
+import com.example.gameimpl.repository.CompanyRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Company summaries: the full directory, and single companies by id and by company number, at
+ * most {@code app.cache.companies.max-entries} entries in all. They are loaded through
+ * projections, so the {@code recruiters} collection is never read, and the summaries are
+ * immutable records that can be handed out as they are.
+ * <p>
+ * Everything is dropped by {@link #invalidate()} whenever a company is saved or deleted.
+ */
+@Component
+public class CompanyDirectoryCache {
+
+    private static final String ALL = "all";
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Value("${app.cache.companies.max-entries:10000}")
+    private int maxEntries;
+
+    private InvalidatingCache<String, List<CompanySummary>> companies;
+
+    @PostConstruct
+    void init() {
+        companies = new InvalidatingCache<>(maxEntries, UnaryOperator.identity());
+    }
+
+    public List<CompanySummary> getAll() {
+        return companies.get(ALL, key -> Optional.of(List.copyOf(companyRepository.findAllSummaries())))
+                .orElseThrow();
+    }
+
+    public Optional<CompanySummary> getById(Integer id) {
+        return companies.get("id:" + id, key -> companyRepository.findSummaryById(id).map(List::of))
+                .map(summaries -> summaries.get(0));
+    }
+
+    public Optional<CompanySummary> getByNumber(String companyNumber) {
+        return companies.get("number:" + companyNumber,
+                        key -> companyRepository.findSummaryByCompanyNumber(companyNumber).map(List::of))
+                .map(summaries -> summaries.get(0));
+    }
+
+    public void invalidate() {
+        companies.invalidateAll();
+    }
+
+    public Map<String, Long> getStats() {
+        return companies.getStats();
+    }
+}
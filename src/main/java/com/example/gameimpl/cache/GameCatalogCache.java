@@ -0,0 +1,108 @@
+package com.example.gameimpl.cache;
+
+import com.example.gameimpl.model.Game;
+import com.example.gameimpl.repository.GameRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * The game catalog: all games, the active ones, the games of a type and single games by id, at
+ * most {@code app.cache.games.max-entries} entries in all. The serialized JSON of the active
+ * games is kept with them so {@code GET /api/games/active} skips both the database and Jackson.
+ * Games are entities the caller may change, so each call returns copies.
+ * <p>
+ * Everything is dropped by {@link #invalidate()} whenever a game is saved or deleted.
+ */
+@Component
+public class GameCatalogCache {
+
+    private static final String ALL = "all";
+    private static final String ACTIVE = "active";
+
+    /** The games behind one entry; {@code json} is only kept for the active games. */
+    private record Games(List<Game> games, byte[] json) {
+
+        Games copy() {
+            return new Games(games.stream().map(GameCatalogCache::copy).toList(), json);
+        }
+    }
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.cache.games.max-entries:1000}")
+    private int maxEntries;
+
+    private InvalidatingCache<String, Games> catalog;
+
+    @PostConstruct
+    void init() {
+        catalog = new InvalidatingCache<>(maxEntries, Games::copy);
+    }
+
+    public List<Game> getAll() {
+        return load(ALL, () -> gameRepository.findAll()).games();
+    }
+
+    public Optional<Game> getById(Integer id) {
+        return catalog.get("id:" + id, key -> gameRepository.findById(id).map(game -> new Games(List.of(game), null)))
+                .map(games -> games.games().get(0));
+    }
+
+    public List<Game> getActive() {
+        return activeGames().games();
+    }
+
+    /** A copy of the cached bytes, so writing them to a response cannot change them. */
+    public byte[] getActiveJson() {
+        return activeGames().json().clone();
+    }
+
+    public List<Game> getByType(String gameType) {
+        return load("type:" + gameType, () -> gameRepository.findByGameType(gameType)).games();
+    }
+
+    public void invalidate() {
+        catalog.invalidateAll();
+    }
+
+    public Map<String, Long> getStats() {
+        return catalog.getStats();
+    }
+
+    private Games activeGames() {
+        return catalog.get(ACTIVE, key -> {
+            List<Game> active = List.copyOf(gameRepository.findByActive(true));
+            return Optional.of(new Games(active, toJson(active)));
+        }).orElseThrow();
+    }
+
+    private Games load(String key, Supplier<List<Game>> query) {
+        return catalog.get(key, ignored -> Optional.of(new Games(List.copyOf(query.get()), null))).orElseThrow();
+    }
+
+    private static Game copy(Game game) {
+        return new Game(game.getId(), game.getGameName(), game.getGameDescription(), game.getSkillName(),
+                game.getGameUrl(), game.getGameImage(), game.isActive(), game.getGameType());
+    }
+
+    private byte[] toJson(List<Game> games) {
+        try {
+            return objectMapper.writeValueAsBytes(games);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize game catalog", e);
+        }
+    }
+}
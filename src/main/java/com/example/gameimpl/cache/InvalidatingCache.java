@@ -0,0 +1,82 @@
+package com.example.gameimpl.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Least recently used map of loaded values, bounded by its number of entries, behind the lookup
+ * caches of this package. Callers only ever get what {@code copy} makes of a cached value, so a
+ * caller changing its result cannot change what the next caller sees. Absent results are not
+ * cached. A load that raced with an invalidation is returned to its caller but not kept.
+ */
+final class InvalidatingCache<K, V> {
+
+    private final Map<K, V> entries;
+    private final UnaryOperator<V> copy;
+
+    /** Bumped on every invalidation so a load that raced with a write is not installed. */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    InvalidatingCache(int maxEntries, UnaryOperator<V> copy) {
+        this.copy = copy;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    Optional<V> get(K key, Function<? super K, Optional<V>> loader) {
+        long loadGeneration;
+        synchronized (entries) {
+            V cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return Optional.of(copy.apply(cached));
+            }
+            loadGeneration = generation.get();
+        }
+        misses.incrementAndGet();
+        Optional<V> loaded = loader.apply(key);
+        loaded.ifPresent(value -> {
+            synchronized (entries) {
+                if (generation.get() == loadGeneration) {
+                    entries.put(key, value);
+                }
+            }
+        });
+        return loaded.map(copy);
+    }
+
+    void invalidate(K key) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(key);
+        }
+    }
+
+    void invalidateAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        synchronized (entries) {
+            stats.put("size", (long) entries.size());
+        }
+        return stats;
+    }
+}
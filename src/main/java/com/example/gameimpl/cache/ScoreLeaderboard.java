@@ -0,0 +1,357 @@
+package com.example.gameimpl.cache;
+
+import com.example.gameimpl.dto.LeaderboardEntry;
+import com.example.gameimpl.dto.PercentileRank;
+import com.example.gameimpl.dto.ScoreValueCount;
+import com.example.gameimpl.model.Score;
+import com.example.gameimpl.repository.ScoreRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Per-game score distribution kept in memory so percentile and top-K questions never scan
+ * {@code score}. Each game type has a histogram with one bucket per score value between 0 and
+ * {@code app.leaderboard.max-score} (values outside are clamped), so a percentile is a sum over
+ * a fixed number of buckets, and the best {@code app.leaderboard.top-k} entries in score order.
+ * <p>
+ * The boards are rebuilt from two aggregate queries when the application starts and then
+ * updated on every insert, update and delete of a score. Inside a transaction the update is
+ * applied after commit, so a rolled back completion never shows up in the ranking. A rebuild does
+ * not hold up those updates: they keep going to the old boards and are also kept, and each one is
+ * replayed on the new boards unless the snapshot they were read from already shows it. A top that
+ * has to be read again after a delete is handled the same way, per board. No query runs while a
+ * lock that updates wait for is held.
+ */
+@Component
+public class ScoreLeaderboard {
+
+    private static final Comparator<LeaderboardEntry> RANKING = Comparator
+            .comparing(LeaderboardEntry::scoreValue, Comparator.reverseOrder())
+            .thenComparing(LeaderboardEntry::scoreId);
+
+    /** An applied change: the entry before and after it, empty for an insert or a delete. */
+    private record Update(Optional<LeaderboardEntry> removed, Optional<LeaderboardEntry> added) {
+
+        Integer scoreId() {
+            return removed.or(() -> added).map(LeaderboardEntry::scoreId).orElseThrow();
+        }
+    }
+
+    /** A change to a board's top while the top is read again: the entry and whether it was added. */
+    private record TopChange(LeaderboardEntry entry, boolean added) {
+    }
+
+    private final class Board {
+        private final long[] counts = new long[maxScore + 1];
+        private long total;
+        private final TreeSet<LeaderboardEntry> top = new TreeSet<>(RANKING);
+        private final Object refilling = new Object();
+        private List<TopChange> duringRefill; // changes while the top is read again, guarded by this
+
+        /** False once an entry left the top while lower scores may exist that are not held here. */
+        private volatile boolean topComplete = true;
+
+        synchronized void add(LeaderboardEntry entry) {
+            counts[bucket(entry.scoreValue())]++;
+            total++;
+            addToTop(entry);
+            if (duringRefill != null) {
+                duringRefill.add(new TopChange(entry, true));
+            }
+        }
+
+        synchronized void remove(LeaderboardEntry entry) {
+            int bucket = bucket(entry.scoreValue());
+            if (counts[bucket] == 0) {
+                return;
+            }
+            counts[bucket]--;
+            total--;
+            removeFromTop(entry);
+            if (duringRefill != null) {
+                duringRefill.add(new TopChange(entry, false));
+            }
+        }
+
+        synchronized PercentileRank percentile(String gameType, int scoreValue) {
+            if (total == 0) {
+                return new PercentileRank(gameType, scoreValue, null, 0L);
+            }
+            int bucket = bucket(scoreValue);
+            long below = 0;
+            for (int i = 0; i < bucket; i++) {
+                below += counts[i];
+            }
+            double rank = (below + counts[bucket] / 2.0) * 100.0 / total;
+            return new PercentileRank(gameType, scoreValue, rank, total);
+        }
+
+        synchronized List<LeaderboardEntry> top(int limit) {
+            return top.stream().limit(limit).toList();
+        }
+
+        synchronized void replaceTop(List<LeaderboardEntry> entries) {
+            top.clear();
+            top.addAll(entries);
+            topComplete = true;
+        }
+
+        /** @return false when the top is complete; otherwise changes are collected from here on */
+        synchronized boolean startRefill() {
+            if (topComplete) {
+                return false;
+            }
+            duringRefill = new ArrayList<>();
+            return true;
+        }
+
+        /**
+         * Takes the top read since {@link #startRefill()} and applies the changes made meanwhile
+         * again; one the read already shows changes nothing.
+         */
+        synchronized void finishRefill(List<LeaderboardEntry> entries) {
+            replaceTop(entries);
+            for (TopChange change : duringRefill) {
+                if (change.added()) {
+                    addToTop(change.entry());
+                } else {
+                    removeFromTop(change.entry());
+                }
+            }
+            duringRefill = null;
+        }
+
+        synchronized void abortRefill() {
+            duringRefill = null;
+        }
+
+        private void addToTop(LeaderboardEntry entry) {
+            top.add(entry);
+            if (top.size() > topK) {
+                top.pollLast();
+            }
+        }
+
+        private void removeFromTop(LeaderboardEntry entry) {
+            if (top.remove(entry) && total > top.size()) {
+                topComplete = false;
+            }
+        }
+    }
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.leaderboard.top-k:100}")
+    private int topK;
+
+    @Value("${app.leaderboard.max-score:100}")
+    private int maxScore;
+
+    private volatile Map<String, Board> boards = new ConcurrentHashMap<>();
+    private final Object rebuilding = new Object();
+    private List<Update> missed; // updates applied while a rebuild reads, guarded by this
+    private TransactionTemplate snapshot;
+
+    @PostConstruct
+    void createSnapshotTransaction() {
+        snapshot = new TransactionTemplate(transactionManager);
+        // left unnamed, so ReplicaRoutingDataSource keeps it on the primary with the writes it races
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshot.setReadOnly(true);
+    }
+
+    /**
+     * Reads new boards in one repeatable-read snapshot. Updates are collected from before the
+     * snapshot is taken until the boards are swapped, so a score committed during the read is
+     * replayed; the scores they touch are read in the same snapshot so one it already counted is
+     * not counted twice. Those reads happen without the lock, which is only taken to replay and
+     * swap once every collected update has been read.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuilding) {
+            synchronized (this) {
+                missed = new ArrayList<>();
+            }
+            try {
+                snapshot.executeWithoutResult(status -> {
+                    Map<String, Board> rebuilt = read();
+                    Map<Integer, Optional<LeaderboardEntry>> scores = new HashMap<>();
+                    while (true) {
+                        Set<Integer> unread;
+                        synchronized (this) {
+                            unread = missed.stream()
+                                    .map(Update::scoreId)
+                                    .filter(scoreId -> !scores.containsKey(scoreId))
+                                    .collect(Collectors.toSet());
+                            if (unread.isEmpty()) {
+                                replay(rebuilt, missed, scores);
+                                boards = rebuilt;
+                                return;
+                            }
+                        }
+                        unread.forEach(scoreId -> scores.put(scoreId, Optional.empty()));
+                        scoreRepository.findLeaderboardEntries(unread)
+                                .forEach(entry -> scores.put(entry.scoreId(), Optional.of(entry)));
+                    }
+                });
+            } finally {
+                synchronized (this) {
+                    missed = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a stored score; {@code previous} is the entry as it was before an update, empty for
+     * an insert.
+     */
+    public void record(Optional<LeaderboardEntry> previous, Optional<LeaderboardEntry> current) {
+        afterCommit(() -> apply(new Update(previous, current)));
+    }
+
+    public void remove(LeaderboardEntry entry) {
+        afterCommit(() -> apply(new Update(Optional.of(entry), Optional.empty())));
+    }
+
+    public Optional<PercentileRank> getPercentile(String gameType, int scoreValue) {
+        Board board = boards.get(gameType);
+        return board != null ? Optional.of(board.percentile(gameType, scoreValue)) : Optional.empty();
+    }
+
+    public Optional<PercentileRank> getPercentile(Score score) {
+        return LeaderboardEntry.of(score).flatMap(entry -> getPercentile(entry.gameType(), entry.scoreValue()));
+    }
+
+    /**
+     * @return up to {@code limit} best entries, capped at {@code app.leaderboard.top-k}
+     */
+    public List<LeaderboardEntry> getTop(String gameType, int limit) {
+        Board board = boards.get(gameType);
+        if (board == null) {
+            return List.of();
+        }
+        if (!board.topComplete) {
+            refillTop(gameType, board);
+        }
+        return board.top(Math.min(limit, topK));
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        new TreeMap<>(boards).forEach((gameType, board) -> {
+            synchronized (board) {
+                stats.put(gameType, board.total);
+            }
+        });
+        return stats;
+    }
+
+    private synchronized void apply(Update update) {
+        if (update.removed().isEmpty() && update.added().isEmpty()) {
+            return;
+        }
+        if (missed != null) {
+            missed.add(update);
+        }
+        apply(boards, update);
+    }
+
+    private void apply(Map<String, Board> into, Update update) {
+        update.removed().ifPresent(entry -> into.computeIfAbsent(entry.gameType(), key -> new Board()).remove(entry));
+        update.added().ifPresent(entry -> into.computeIfAbsent(entry.gameType(), key -> new Board()).add(entry));
+    }
+
+    private Map<String, Board> read() {
+        Map<String, Board> rebuilt = new ConcurrentHashMap<>();
+        for (ScoreValueCount row : scoreRepository.countByGameTypeAndScoreValue()) {
+            Board board = rebuilt.computeIfAbsent(row.gameType(), gameType -> new Board());
+            board.counts[bucket(row.scoreValue())] += row.scores();
+            board.total += row.scores();
+        }
+        rebuilt.forEach((gameType, board) ->
+                board.replaceTop(scoreRepository.findLeaderboard(gameType, Limit.of(topK))));
+        return rebuilt;
+    }
+
+    /**
+     * Replays the updates that happened during a rebuild in order, each only when the score is
+     * still as the update found it, starting from how the snapshot shows it in {@code scores}.
+     * Runs with the lock held.
+     */
+    private void replay(Map<String, Board> rebuilt, List<Update> updates, Map<Integer, Optional<LeaderboardEntry>> scores) {
+        for (Update update : updates) {
+            if (rank(scores.get(update.scoreId())).equals(rank(update.removed()))) {
+                apply(rebuilt, update);
+                scores.put(update.scoreId(), update.added());
+            }
+        }
+    }
+
+    /** The part of an entry that decides where a board counts it. */
+    private Optional<List<Object>> rank(Optional<LeaderboardEntry> entry) {
+        return entry.map(e -> List.of(e.gameType(), bucket(e.scoreValue())));
+    }
+
+    /** Reads the top again without holding the board, which keeps taking updates meanwhile. */
+    private void refillTop(String gameType, Board board) {
+        synchronized (board.refilling) {
+            if (!board.startRefill()) {
+                return;
+            }
+            List<LeaderboardEntry> entries;
+            try {
+                entries = scoreRepository.findLeaderboard(gameType, Limit.of(topK));
+            } catch (RuntimeException e) {
+                board.abortRefill();
+                throw e;
+            }
+            board.finishRefill(entries);
+        }
+    }
+
+    private int bucket(int scoreValue) {
+        return Math.max(0, Math.min(maxScore, scoreValue));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.gameimpl.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Change counter per entity table, used as the validator for conditional GETs: a response built
+ * from a set of tables is unchanged as long as none of their counters moved, which can be told
+ * without querying the tables. Counters are bumped by Hibernate's post-commit insert, update and
+ * delete events, so rolled back writes do not count; JPQL bulk updates bypass those events and
+ * have to call {@link #changed(Class)} themselves.
+ * <p>
+ * Counters live in memory and start over with every run, so each version carries the start time
+ * of this instance. Like the other caches in this package they assume a single application node.
+ */
+@Component
+public class TableVersions implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    /**
+     * @param tag        opaque version, changes with every committed write to one of the tables
+     * @param changedAt  time of the last such write, or the instance start
+     */
+    public record Version(String tag, Instant changedAt) {
+    }
+
+    private record Stamp(long counter, Instant changedAt) {
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final Instant started = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    private final String epoch = Long.toString(started.getEpochSecond(), 36);
+    private final Map<Class<?>, Stamp> stamps = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * @return the combined version of the tables behind {@code entities}
+     */
+    public Version of(Class<?>... entities) {
+        StringBuilder tag = new StringBuilder(epoch);
+        Instant changedAt = started;
+        for (Class<?> entity : entities) {
+            Stamp stamp = stamps.get(entity);
+            tag.append('.').append(stamp != null ? stamp.counter() : 0);
+            if (stamp != null && stamp.changedAt().isAfter(changedAt)) {
+                changedAt = stamp.changedAt();
+            }
+        }
+        return new Version(tag.toString(), changedAt);
+    }
+
+    public void changed(Class<?> entity) {
+        stamps.compute(entity, (key, stamp) -> new Stamp(stamp != null ? stamp.counter() + 1 : 1, Instant.now()));
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getPersister().getMappedClass());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getPersister().getMappedClass());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getPersister().getMappedClass());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.gameimpl.cache;
+
+import com.example.gameimpl.model.User;
+import com.example.gameimpl.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Users by id, at most {@code app.cache.users.max-entries} of them. Users are loaded together
+ * with their company, so a cached user can be serialized after its session is gone. Each call
+ * returns a copy of the user; the company it refers to is shared and must not be changed.
+ * <p>
+ * Entries are dropped by {@link #invalidate(Integer)} whenever a user is saved or deleted.
+ */
+@Component
+public class UserCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.cache.users.max-entries:10000}")
+    private int maxEntries;
+
+    private InvalidatingCache<Integer, User> users;
+
+    @PostConstruct
+    void init() {
+        users = new InvalidatingCache<>(maxEntries, UserCache::copy);
+    }
+
+    public Optional<User> getById(Integer id) {
+        return users.get(id, userRepository::findWithCompanyById);
+    }
+
+    public void invalidate(Integer id) {
+        users.invalidate(id);
+    }
+
+    public Map<String, Long> getStats() {
+        return users.getStats();
+    }
+
+    private static User copy(User user) {
+        return new User(user.getId(), user.getFirstName(), user.getLastName(), user.getRole(), user.getEmail(),
+                user.getPassword(), user.getCompany());
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.gameimpl.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password hashing. The bcrypt strength ({@code app.auth.bcrypt-strength}, log2 of the rounds)
+ * doubles the cost of every login per step; {@code PasswordHashingBenchmark} in the {@code jmh}
+ * profile measures it. Hashes stored with a lower strength are upgraded at the next login.
+ */
+@Configuration
+public class PasswordConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${app.auth.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.gameimpl.config;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Keeps the rest of the current request on the primary even for read-only service methods. Used
+ * by responses validated with a primary-side version such as an ETag from {@code TableVersions}:
+ * a body read from a lagging replica would otherwise be stamped with a newer version, and every
+ * later conditional request would be answered 304 for that stale body until the table changes.
+ * Without replicas, or outside a request, this has no effect.
+ */
+public final class PrimaryReads {
+
+    static final String ATTRIBUTE = PrimaryReads.class.getName();
+
+    private PrimaryReads() {
+    }
+
+    public static void forCurrentRequest() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    static boolean required(RequestAttributes request) {
+        return request != null && request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+}
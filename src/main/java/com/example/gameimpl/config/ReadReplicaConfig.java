@@ -0,0 +1,121 @@
+package com.example.gameimpl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read replicas, active when {@code app.datasource.replicas.urls} lists one or more JDBC URLs;
+ * without it Boot's single pool is used unchanged. The application DataSource then routes between
+ * a primary pool built from {@code spring.datasource.*} and one pool per replica, all configured
+ * from {@code spring.datasource.hikari.*} and reporting {@code hikaricp.*} metrics under their
+ * pool names ({@code primary}, {@code replica-1}, ...). See {@link ReplicaRoutingDataSource} for
+ * which connections go where.
+ */
+@Configuration
+@ConditionalOnProperty("app.datasource.replicas.urls")
+public class ReadReplicaConfig {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.datasource.replicas.urls}")
+    private List<String> urls;
+
+    @Value("${app.datasource.replicas.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replicas.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replicas.read-prefix:com.example.gameimpl.service.}")
+    private String readPrefix;
+
+    @Value("${app.datasource.replicas.lag-query:}")
+    private String lagQuery;
+
+    @Value("${app.datasource.replicas.max-lag-ms:1000}")
+    private long maxLagMillis;
+
+    @Value("${app.datasource.replicas.check-interval-ms:1000}")
+    private long checkIntervalMillis;
+
+    private ReplicaRoutingDataSource routing;
+    private ScheduledExecutorService checks;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties) {
+        HikariDataSource primary = pool(ReplicaRoutingDataSource.PRIMARY, properties.determineUrl(),
+                properties.determineUsername(), properties.determinePassword());
+        primary.setDriverClassName(properties.determineDriverClassName());
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = pool(name, url.trim(), replicaUsername, replicaPassword);
+            replica.setReadOnly(true);
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, replica));
+        }
+        routing = new ReplicaRoutingDataSource(primary, replicas, readPrefix, lagQuery, maxLagMillis,
+                checkIntervalMillis, meterRegistry);
+        checks = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-lag-check").daemon(true).factory());
+        checks.scheduleWithFixedDelay(routing::checkReplicas, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /** Connections are picked per transaction, so Hibernate must not hold one for the whole request. */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /** Runs a lag check now instead of waiting for the next scheduled one. */
+    void checkReplicas() {
+        routing.checkReplicas();
+    }
+
+    @PreDestroy
+    void close() {
+        if (checks != null) {
+            checks.shutdownNow();
+        }
+        if (routing != null) {
+            routing.close();
+        }
+    }
+
+    private HikariDataSource pool(String name, String url, String username, String password) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setMetricRegistry(meterRegistry);
+        return pool;
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.gameimpl.config;
+
+import com.example.gameimpl.auth.SessionPrincipal;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the primary or a replica pool for every physical connection. A replica serves read-only
+ * transactions opened by a method whose name starts with the configured prefix, i.e. the
+ * {@code @Transactional(readOnly = true)} service methods; Spring Data's implicit read-only
+ * transactions, non-transactional access and all writes use the primary.
+ * <p>
+ * Read-your-writes: once a write commits during a request, the rest of that request and every
+ * read of the same client (session user, otherwise remote address) for the sticky window stays on
+ * the primary. The window is the maximum replica lag plus one check interval, and a replica whose
+ * measured lag exceeds that maximum, or whose check fails, is skipped until it catches up; with
+ * no replica left, reads fall back to the primary. Requests marked with {@link PrimaryReads}, the
+ * conditional GETs whose validator is kept on the primary, read from the primary as well.
+ * <p>
+ * The decision needs the transaction's read-only flag and name, so this data source has to sit
+ * behind a {@code LazyConnectionDataSourceProxy} and Hibernate has to release connections after
+ * each transaction.
+ */
+final class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String WROTE = ReplicaRoutingDataSource.class.getName() + ".WROTE";
+
+    static final class Replica {
+        private final String name;
+        private final HikariDataSource pool;
+        private volatile long lagMillis = -1;
+        private volatile boolean available = true;
+
+        Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+    }
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final String readPrefix;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final long stickyNanos;
+    private final MeterRegistry meterRegistry;
+
+    /** Client key to the time of its last committed write, for the sticky window. */
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> routed = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    ReplicaRoutingDataSource(HikariDataSource primary, List<Replica> replicas, String readPrefix, String lagQuery,
+                             long maxLagMillis, long checkIntervalMillis, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readPrefix = readPrefix;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.stickyNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMillis + checkIntervalMillis);
+        this.meterRegistry = meterRegistry;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : replicas) {
+            targets.put(replica.name, replica.pool);
+            Gauge.builder("datasource.replica.lag", replica, current -> current.lagMillis)
+                    .description("Replication lag at the last check in milliseconds, -1 when unreachable")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", replica, current -> current.available ? 1 : 0)
+                    .description("Whether the replica currently takes reads")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriteOnCommit();
+            return route(PRIMARY, "write");
+        }
+        String transaction = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transaction == null || !transaction.startsWith(readPrefix)) {
+            return route(PRIMARY, "read");
+        }
+        if (PrimaryReads.required(RequestContextHolder.getRequestAttributes())) {
+            return route(PRIMARY, "versioned-response");
+        }
+        if (wroteRecently()) {
+            return route(PRIMARY, "read-your-writes");
+        }
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (replica.available) {
+                return route(replica.name, "read");
+            }
+        }
+        return route(PRIMARY, "replica-unavailable");
+    }
+
+    /**
+     * Measures the lag of every replica with the lag query (a connection check when it is blank),
+     * takes replicas out of or back into rotation and drops writers whose sticky window is over.
+     */
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            try (Connection connection = replica.pool.getConnection()) {
+                replica.lagMillis = StringUtils.hasText(lagQuery) ? lag(connection) : 0;
+                replica.available = replica.lagMillis <= maxLagMillis;
+            } catch (SQLException | RuntimeException e) {
+                replica.lagMillis = -1;
+                replica.available = false;
+            }
+            if (wasAvailable != replica.available) {
+                log.warn("Replica {} {} (lag {} ms)", replica.name,
+                        replica.available ? "back in rotation" : "taken out of rotation", replica.lagMillis);
+            }
+        }
+        long now = System.nanoTime();
+        recentWriters.values().removeIf(wroteAt -> now - wroteAt >= stickyNanos);
+    }
+
+    void close() {
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    private long lag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            return result.next() ? Math.round(result.getDouble(1)) : 0;
+        }
+    }
+
+    private String route(String target, String reason) {
+        routed.computeIfAbsent(target + '/' + reason, key -> Counter.builder("datasource.routing")
+                .description("Connections handed out per target pool and routing reason")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry)).increment();
+        return target;
+    }
+
+    private boolean wroteRecently() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return false;
+        }
+        if (request.getAttribute(WROTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        String client = clientOf(request);
+        Long wroteAt = client != null ? recentWriters.get(client) : null;
+        return wroteAt != null && System.nanoTime() - wroteAt < stickyNanos;
+    }
+
+    private void rememberWriteOnCommit() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                request.setAttribute(WROTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+                String client = clientOf(request);
+                if (client != null) {
+                    recentWriters.put(client, System.nanoTime());
+                }
+            }
+        });
+    }
+
+    private static String clientOf(RequestAttributes request) {
+        if (request.getAttribute(SessionPrincipal.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof SessionPrincipal principal) {
+            return "user:" + principal.userId();
+        }
+        if (request instanceof ServletRequestAttributes servlet) {
+            return "address:" + servlet.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+}
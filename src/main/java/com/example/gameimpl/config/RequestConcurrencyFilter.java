@@ -0,0 +1,71 @@
+package com.example.gameimpl.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of API requests handled at once when requests run on virtual threads.
+ * <p>
+ * The platform Tomcat pool used to be the natural limit on concurrent database work; with one
+ * virtual thread per request that limit is gone, and a spike would queue thousands of threads on
+ * Hikari until they hit its connection timeout. Requests over
+ * {@code app.virtual-threads.max-concurrent-requests} wait up to
+ * {@code app.virtual-threads.acquire-timeout-ms} for a slot and are then rejected with 503.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class RequestConcurrencyFilter extends OncePerRequestFilter {
+
+    @Value("${app.virtual-threads.max-concurrent-requests:200}")
+    private int maxConcurrentRequests;
+
+    @Value("${app.virtual-threads.acquire-timeout-ms:2000}")
+    private long acquireTimeoutMillis;
+
+    private Semaphore permits;
+
+    @PostConstruct
+    void createPermits() {
+        permits = new Semaphore(maxConcurrentRequests, true);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many concurrent requests");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
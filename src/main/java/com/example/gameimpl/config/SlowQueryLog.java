@@ -0,0 +1,139 @@
+package com.example.gameimpl.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs SQL statements that take longer than {@code app.slow-query.threshold-ms}, replacing the
+ * blanket {@code spring.jpa.show-sql} output. Only a {@code app.slow-query.sample-rate} fraction
+ * of slow statements is written to the {@code slow-query} logger so a degraded database cannot
+ * flood the log; every one of them is counted in the {@code db.queries.slow} meter.
+ * <p>
+ * The application's DataSource is wrapped in a {@link DelegatingDataSource}, which Boot unwraps
+ * for the Hikari pool metrics; statements are timed around their {@code execute*} calls.
+ */
+@Component
+public class SlowQueryLog implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger("slow-query");
+
+    @Value("${app.slow-query.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.slow-query.threshold-ms:200}")
+    private long thresholdMillis;
+
+    @Value("${app.slow-query.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private volatile Counter slowQueries;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)) {
+            return new SlowQueryDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    private final class SlowQueryDataSource extends DelegatingDataSource {
+
+        SlowQueryDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return connection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return connection(super.getConnection(username, password));
+        }
+    }
+
+    private Connection connection(Connection target) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> statement(PreparedStatement.class, (PreparedStatement) result, (String) args[0]);
+                case "prepareCall" -> statement(CallableStatement.class, (CallableStatement) result, (String) args[0]);
+                case "createStatement" -> statement(Statement.class, (Statement) result, null);
+                default -> result;
+            };
+        });
+    }
+
+    private <S extends Statement> S statement(Class<S> type, S target, String preparedSql) {
+        return proxy(type, target, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return invoke(target, method, args);
+            } finally {
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                if (millis >= thresholdMillis) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String direct ? direct : preparedSql;
+                    slow(millis, method.getName(), sql);
+                }
+            }
+        });
+    }
+
+    private void slow(long millis, String call, String sql) {
+        Counter counter = slowQueries;
+        if (counter == null) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                counter = slowQueries = Counter.builder("db.queries.slow")
+                        .description("Statements slower than app.slow-query.threshold-ms")
+                        .register(registry);
+            }
+        }
+        if (counter != null) {
+            counter.increment();
+        }
+        if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.warn("{} ms {}: {}", millis, call, sql);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
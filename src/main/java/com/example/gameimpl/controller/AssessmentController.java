@@ -1,25 +1,63 @@
 package com.example.gameimpl.controller;
 
+import com.example.gameimpl.auth.SessionPrincipal;
+import com.example.gameimpl.dto.AssessmentAnalytics;
+import com.example.gameimpl.dto.AssessmentCompletionRequest;
+import com.example.gameimpl.dto.AssessmentCompletionResult;
+import com.example.gameimpl.dto.BulkInvitationRequest;
+import com.example.gameimpl.dto.BulkInvitationResult;
+import com.example.gameimpl.dto.CandidateDashboard;
+import com.example.gameimpl.dto.ExpiryRun;
 import com.example.gameimpl.model.Assessment;
+import com.example.gameimpl.model.AssessmentStatus;
+import com.example.gameimpl.service.AssessmentAnalyticsService;
+import com.example.gameimpl.service.AssessmentCompletionService;
+import com.example.gameimpl.service.AssessmentExpiryService;
+import com.example.gameimpl.service.AssessmentInvitationService;
 import com.example.gameimpl.service.AssessmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/assessments")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = CursorResponses.NEXT_CURSOR)
 public class AssessmentController {
 
     @Autowired
     private AssessmentService assessmentService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AssessmentCompletionService assessmentCompletionService;
+
+    @Autowired
+    private AssessmentExpiryService assessmentExpiryService;
+
+    @Autowired
+    private AssessmentInvitationService assessmentInvitationService;
+
+    @Autowired
+    private AssessmentAnalyticsService assessmentAnalyticsService;
+
     @GetMapping
-    public List<Assessment> getAllAssessments() {
-        return assessmentService.getAllAssessments();
+    public ResponseEntity<List<Assessment>> getAllAssessments(@RequestParam(required = false) Integer after,
+                                                              @RequestParam(required = false) Integer limit) {
+        return CursorResponses.of(assessmentService.getAssessments(after, limit));
+    }
+
+    @GetMapping("/stream")
+    public StreamingResponseBody streamAllAssessments() {
+        return JsonStreams.array(objectMapper, assessmentService::streamAllAssessments);
     }
 
     @GetMapping("/{id}")
@@ -28,19 +66,44 @@ public class AssessmentController {
         return assessment.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * One page of the candidate's assessments, {@code limit} of them (100 by default); the next page
+     * starts {@code after} the {@code X-Next-Cursor} header. All assessments at once come from
+     * {@code /api/assessments/stream}.
+     */
     @GetMapping("/candidate/{candidateId}")
-    public List<Assessment> getAssessmentsByCandidateId(@PathVariable Integer candidateId) {
-        return assessmentService.getAssessmentsByCandidateId(candidateId);
+    public ResponseEntity<List<Assessment>> getAssessmentsByCandidateId(@PathVariable Integer candidateId,
+                                                                        @RequestParam(required = false) Integer after,
+                                                                        @RequestParam(required = false) Integer limit,
+                                                                        WebRequest request) {
+        return ConditionalResponses.of(request, assessmentService.getAssessmentsVersion(), ConditionalResponses.USER_DATA,
+                () -> CursorResponses.of(assessmentService.getAssessmentsByCandidateId(candidateId, after, limit)));
     }
 
+    /** Needs the candidate's own session token. */
+    @GetMapping("/candidate/{candidateId}/dashboard")
+    public ResponseEntity<CandidateDashboard> getCandidateDashboard(
+            @PathVariable Integer candidateId,
+            @RequestAttribute(name = SessionPrincipal.ATTRIBUTE, required = false) SessionPrincipal principal) {
+        if (!SessionChecks.permits(principal, caller -> caller.isUser(candidateId))) {
+            return SessionChecks.refuse(principal);
+        }
+        return ResponseEntity.ok(assessmentService.getCandidateDashboard(candidateId));
+    }
+
+    /** One page of the recruiter's assessments, paged like {@code /candidate/{candidateId}}. */
     @GetMapping("/hr/{hrId}")
-    public List<Assessment> getAssessmentsByHrId(@PathVariable Integer hrId) {
-        return assessmentService.getAssessmentsByHrId(hrId);
+    public ResponseEntity<List<Assessment>> getAssessmentsByHrId(@PathVariable Integer hrId,
+                                                                 @RequestParam(required = false) Integer after,
+                                                                 @RequestParam(required = false) Integer limit) {
+        return CursorResponses.of(assessmentService.getAssessmentsByHrId(hrId, after, limit));
     }
 
     @GetMapping("/status/{status}")
-    public List<Assessment> getAssessmentsByStatus(@PathVariable String status) {
-        return assessmentService.getAssessmentsByStatus(status);
+    public ResponseEntity<List<Assessment>> getAssessmentsByStatus(@PathVariable AssessmentStatus status,
+                                                                   @RequestParam(required = false) Integer after,
+                                                                   @RequestParam(required = false) Integer limit) {
+        return CursorResponses.of(assessmentService.getAssessmentsByStatus(status, after, limit));
     }
 
     @PostMapping
@@ -48,6 +111,86 @@ public class AssessmentController {
         return assessmentService.saveAssessment(assessment);
     }
 
+    /**
+     * Needs a recruiter's session token. The recruiter and the company are taken from the token
+     * instead of the request body, so neither has to be looked up; a {@code companyId} in the body
+     * has to be the recruiter's company (403 otherwise).
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkInvitationResult> inviteCandidates(
+            @RequestBody BulkInvitationRequest request,
+            @RequestAttribute(name = SessionPrincipal.ATTRIBUTE, required = false) SessionPrincipal principal) {
+        Integer companyId = request.companyId();
+        if (!SessionChecks.permits(principal, caller -> caller.isRecruiter()
+                && (companyId == null || companyId.equals(caller.companyId())))) {
+            return SessionChecks.refuse(principal);
+        }
+        request = new BulkInvitationRequest(principal.userId(), principal.companyId(),
+                request.gameId(), request.dueDate(), request.candidateEmails());
+        if (request.hrId() == null || request.gameId() == null || request.candidateEmails() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(assessmentInvitationService.inviteCandidates(request));
+    }
+
+    /**
+     * Needs the session token of the candidate the assessment was sent to. The candidate of an
+     * assessment never changes, so it is checked before the completion locks the row.
+     */
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<AssessmentCompletionResult> completeAssessment(
+            @PathVariable Integer id,
+            @RequestBody AssessmentCompletionRequest request,
+            @RequestAttribute(name = SessionPrincipal.ATTRIBUTE, required = false) SessionPrincipal principal) {
+        Optional<Assessment> assessment = assessmentService.getAssessmentById(id);
+        if (!SessionChecks.permits(principal, caller -> assessment.isEmpty()
+                || caller.isUser(assessment.get().getCandidateId()))) {
+            return SessionChecks.refuse(principal);
+        }
+        if (assessment.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            Optional<AssessmentCompletionResult> result = assessmentCompletionService.completeAssessment(id, request);
+            return result.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PostMapping("/expire")
+    public ExpiryRun expireOverdueAssessments() {
+        return assessmentExpiryService.expireOverdueAssessments();
+    }
+
+    @GetMapping("/expire/last")
+    public ResponseEntity<ExpiryRun> getLastExpiryRun() {
+        ExpiryRun run = assessmentExpiryService.getLastRun();
+        return run != null ? ResponseEntity.ok(run) : ResponseEntity.noContent().build();
+    }
+
+    /** Needs the recruiter's own session token. */
+    @GetMapping("/analytics/recruiter/{hrId}")
+    public ResponseEntity<AssessmentAnalytics> getRecruiterAnalytics(
+            @PathVariable Integer hrId,
+            @RequestAttribute(name = SessionPrincipal.ATTRIBUTE, required = false) SessionPrincipal principal) {
+        if (!SessionChecks.permits(principal, caller -> caller.isUser(hrId))) {
+            return SessionChecks.refuse(principal);
+        }
+        return ResponseEntity.ok(assessmentAnalyticsService.getRecruiterAnalytics(hrId));
+    }
+
+    /** Needs the session token of a recruiter of that company. */
+    @GetMapping("/analytics/company/{companyId}")
+    public ResponseEntity<AssessmentAnalytics> getCompanyAnalytics(
+            @PathVariable Integer companyId,
+            @RequestAttribute(name = SessionPrincipal.ATTRIBUTE, required = false) SessionPrincipal principal) {
+        if (!SessionChecks.permits(principal, caller -> caller.isRecruiter() && companyId.equals(caller.companyId()))) {
+            return SessionChecks.refuse(principal);
+        }
+        return ResponseEntity.ok(assessmentAnalyticsService.getCompanyAnalytics(companyId));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Assessment> updateAssessment(@PathVariable Integer id, @RequestBody Assessment assessment) {
         if (!assessmentService.getAssessmentById(id).isPresent()) {
@@ -1,12 +1,15 @@
 package com.example.gameimpl.controller;
 
+import com.example.gameimpl.dto.CompanySummary;
 import com.example.gameimpl.model.Company;
 import com.example.gameimpl.service.CompanyService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -17,9 +20,42 @@ public class CompanyController {
     @Autowired
     private CompanyService companyService;
 
+    /**
+     * All companies; {@code view=summary} (the default) without recruiters, {@code view=detail}
+     * with them.
+     */
     @GetMapping
-    public List<Company> getAllCompanies() {
-        return companyService.getAllCompanies();
+    public ResponseEntity<?> getAllCompanies(@RequestParam(defaultValue = "summary") String view, WebRequest request) {
+        Optional<View> listView = View.parse(view);
+        if (listView.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ConditionalResponses.of(request, companyService.getCompaniesVersion(), ConditionalResponses.DIRECTORY_DATA,
+                () -> ResponseEntity.ok(listView.get() == View.SUMMARY
+                        ? companyService.getCompanySummaries()
+                        : companyService.getCompanyDetails()));
+    }
+
+    @GetMapping("/summaries")
+    public List<CompanySummary> getCompanySummaries() {
+        return companyService.getCompanySummaries();
+    }
+
+    @GetMapping("/summaries/{id}")
+    public ResponseEntity<CompanySummary> getCompanySummaryById(@PathVariable Integer id) {
+        Optional<CompanySummary> company = companyService.getCompanySummaryById(id);
+        return company.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/summaries/number/{companyNumber}")
+    public ResponseEntity<CompanySummary> getCompanySummaryByNumber(@PathVariable String companyNumber) {
+        Optional<CompanySummary> company = companyService.getCompanySummaryByNumber(companyNumber);
+        return company.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/cache/stats")
+    public Map<String, Long> getCacheStats() {
+        return companyService.getCacheStats();
     }
 
     @GetMapping("/{id}")
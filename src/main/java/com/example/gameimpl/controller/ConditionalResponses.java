@@ -0,0 +1,56 @@
+package com.example.gameimpl.controller;
+
+import com.example.gameimpl.cache.TableVersions;
+import com.example.gameimpl.config.PrimaryReads;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for read endpoints backed by {@link TableVersions}. The ETag and Last-Modified
+ * come from the table versions, so a matching {@code If-None-Match} or {@code If-Modified-Since}
+ * is answered with 304 before the query runs or any JSON is written. The versions are counted on
+ * the primary, so the body is read there too ({@link PrimaryReads}), never from a replica that
+ * may not have the writes the ETag already includes.
+ * <p>
+ * Last-Modified has one-second resolution and is only sent once its second is over; otherwise a
+ * second write within the same second could go unnoticed by a client validating on the date alone.
+ */
+final class ConditionalResponses {
+
+    /** Catalog data shared by all users: cached briefly, then revalidated. */
+    static final CacheControl REFERENCE_DATA = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic().mustRevalidate();
+
+    /** Directory data that changes with registrations. */
+    static final CacheControl DIRECTORY_DATA = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic().mustRevalidate();
+
+    /** Per-user data: kept only by the browser and revalidated on every use. */
+    static final CacheControl USER_DATA = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> of(WebRequest request, TableVersions.Version version, CacheControl cacheControl,
+                                    Supplier<? extends ResponseEntity<? extends T>> response) {
+        String etag = "W/\"" + version.tag() + "\"";
+        long lastModified = version.changedAt().isBefore(Instant.now().truncatedTo(ChronoUnit.SECONDS))
+                ? version.changedAt().toEpochMilli()
+                : -1;
+        // Writes ETag and Last-Modified to the response in both outcomes
+        if (request.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        PrimaryReads.forCurrentRequest();
+        ResponseEntity<? extends T> built = response.get();
+        return ResponseEntity.status(built.getStatusCode())
+                .headers(built.getHeaders())
+                .cacheControl(cacheControl)
+                .body(built.getBody());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.gameimpl.controller;
+
+import com.example.gameimpl.dto.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Keeps list responses as plain JSON arrays and carries the keyset cursor in a header,
+ * so existing clients keep working and paging clients follow {@value #NEXT_CURSOR}.
+ */
+final class CursorResponses {
+
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    private CursorResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> of(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(NEXT_CURSOR, page.nextCursor().toString());
+        }
+        return builder.body(page.items());
+    }
+}
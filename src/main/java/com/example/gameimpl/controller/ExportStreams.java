@@ -0,0 +1,159 @@
+package com.example.gameimpl.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes export downloads as CSV or newline-delimited JSON while the rows are read from a
+ * repository cursor, optionally gzip-compressed. Nothing but the current row is held in memory.
+ */
+final class ExportStreams {
+
+    enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        static Optional<Format> parse(String value) {
+            return Arrays.stream(values()).filter(format -> format.extension.equalsIgnoreCase(value)).findFirst();
+        }
+    }
+
+    /** Column name to value, in output order. */
+    static final class Columns<T> {
+        private final Map<String, Function<T, Object>> columns = new LinkedHashMap<>();
+
+        Columns<T> add(String name, Function<T, Object> value) {
+            columns.put(name, value);
+            return this;
+        }
+    }
+
+    private ExportStreams() {
+    }
+
+    static <T> ResponseEntity<StreamingResponseBody> export(String name, Format format, boolean gzip,
+                                                            ObjectMapper objectMapper, Columns<T> columns,
+                                                            Consumer<Consumer<T>> source) {
+        StreamingResponseBody body = format == Format.CSV
+                ? csv(columns, source)
+                : ndjson(objectMapper, source);
+        String filename = name + "." + format.extension + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.contentType))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(gzip ? gzipped(body) : body);
+    }
+
+    private static <T> StreamingResponseBody ndjson(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                source.accept(row -> {
+                    try {
+                        objectMapper.writeValue(generator, row);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+    }
+
+    private static <T> StreamingResponseBody csv(Columns<T> columns, Consumer<Consumer<T>> source) {
+        return outputStream -> {
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            writeLine(writer, columns.columns.keySet().stream().map(Object.class::cast).toList());
+            source.accept(row -> {
+                try {
+                    writeLine(writer, columns.columns.values().stream().map(value -> value.apply(row)).toList());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+    }
+
+    private static void writeLine(Writer writer, Iterable<Object> values) throws IOException {
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            if (value != null) {
+                writer.write(escape(value instanceof Number ? value.toString() : neutralize(value.toString())));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Spreadsheets evaluate a cell starting with {@code = + - @}, a tab or a carriage return as a
+     * formula, so such text (names, feedback, anything a user typed) gets a leading {@code '} and
+     * is shown as text. Numbers are written as they are.
+     */
+    private static String neutralize(String value) {
+        return !value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+    }
+
+    /** RFC 4180: quote fields containing a separator, quote or line break, doubling inner quotes. */
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static StreamingResponseBody gzipped(StreamingResponseBody body) {
+        return outputStream -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(outputStream, 8192);
+            body.writeTo(nonClosing(gzip));
+            gzip.finish();
+        };
+    }
+
+    /** Keeps the JSON generator from closing the gzip stream before its trailer is written. */
+    private static OutputStream nonClosing(OutputStream outputStream) {
+        return new FilterOutputStream(outputStream) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
@@ -4,10 +4,13 @@ package com.example.gameimpl.controller;
 import com.example.gameimpl.model.Game;
 import com.example.gameimpl.service.GameService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -30,9 +33,15 @@ public class GameController {
         return game.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
-    @GetMapping("/active")
-    public List<Game> getActiveGames() {
-        return gameService.getActiveGames();
+    @GetMapping(value = "/active", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getActiveGames(WebRequest request) {
+        return ConditionalResponses.of(request, gameService.getCatalogVersion(), ConditionalResponses.REFERENCE_DATA,
+                () -> ResponseEntity.ok(gameService.getActiveGamesJson()));
+    }
+
+    @GetMapping("/cache/stats")
+    public Map<String, Long> getCacheStats() {
+        return gameService.getCacheStats();
     }
 
     @GetMapping("/type/{gameType}")
@@ -0,0 +1,45 @@
+package com.example.gameimpl.controller;
+
+import com.example.gameimpl.auth.SessionPrincipal;
+import com.example.gameimpl.events.RecruiterEventHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*")
+public class RecruiterEventController {
+
+    @Autowired
+    private RecruiterEventHub recruiterEventHub;
+
+    /**
+     * Server-sent events for a recruiter dashboard: {@code assessment-completed} and {@code report}
+     * as they are committed. Browsers resend the last event id on reconnect and receive only what
+     * they missed. Needs the recruiter's own session token; without a session header it can be
+     * passed as {@code access_token}.
+     */
+    @GetMapping(path = "/recruiter/{hrId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamRecruiterEvents(
+            @PathVariable Integer hrId,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+            @RequestAttribute(name = SessionPrincipal.ATTRIBUTE, required = false) SessionPrincipal principal) {
+        if (!SessionChecks.permits(principal, caller -> caller.isUser(hrId))) {
+            return SessionChecks.refuse(principal);
+        }
+        return recruiterEventHub.subscribe(hrId, lastEventId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Integer> getStats() {
+        return recruiterEventHub.getStats();
+    }
+}
@@ -1,24 +1,92 @@
 package com.example.gameimpl.controller;
 
+import com.example.gameimpl.auth.SessionPrincipal;
+import com.example.gameimpl.dto.ExportFilter;
+import com.example.gameimpl.dto.OutboxStats;
 import com.example.gameimpl.model.Report;
+import com.example.gameimpl.service.ReportOutboxService;
 import com.example.gameimpl.service.ReportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/reports")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {CursorResponses.NEXT_CURSOR, HttpHeaders.CONTENT_DISPOSITION})
 public class ReportController {
     @Autowired
     private ReportService reportService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReportOutboxService reportOutboxService;
+
     @GetMapping
-    public List<Report> getAllReports() {
-        return reportService.getAllReports();
+    public ResponseEntity<List<Report>> getAllReports(@RequestParam(required = false) Integer after,
+                                                      @RequestParam(required = false) Integer limit) {
+        return CursorResponses.of(reportService.getReports(after, limit));
+    }
+
+    @GetMapping("/stream")
+    public StreamingResponseBody streamAllReports() {
+        return JsonStreams.array(objectMapper, reportService::streamAllReports);
+    }
+
+    @GetMapping("/outbox/stats")
+    public OutboxStats getOutboxStats() {
+        return reportOutboxService.getStats();
+    }
+
+    /**
+     * Downloads the reports matching the filters as {@code format=csv} or {@code ndjson}, streamed from
+     * a database cursor; {@code gzip=true} compresses the download. Needs a recruiter's session token
+     * and exports only that recruiter's reports; {@code companyId} and {@code hrId}, if given, have
+     * to be the recruiter's own.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReports(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) Integer companyId,
+            @RequestParam(required = false) Integer hrId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestAttribute(name = SessionPrincipal.ATTRIBUTE, required = false) SessionPrincipal principal) {
+        if (!SessionChecks.permits(principal, caller -> caller.isRecruiter()
+                && (companyId == null || companyId.equals(caller.companyId()))
+                && (hrId == null || caller.isUser(hrId)))) {
+            return SessionChecks.refuse(principal);
+        }
+        Optional<ExportStreams.Format> exportFormat = ExportStreams.Format.parse(format);
+        if (exportFormat.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        ExportFilter filter = new ExportFilter(principal.companyId(), principal.userId(), from, to);
+        ExportStreams.Columns<Report> columns = new ExportStreams.Columns<Report>()
+                .add("reportId", Report::getReportId)
+                .add("recruiterId", Report::getUserId)
+                .add("scoreId", Report::getScoreId)
+                .add("fullname", Report::getFullname)
+                .add("email", Report::getEmail)
+                .add("score", Report::getScore)
+                .add("skillType", Report::getSkillType)
+                .add("feedback", Report::getFeedback)
+                .add("createdAt", Report::getCreatedAt);
+        return ExportStreams.export("reports", exportFormat.get(), gzip, objectMapper, columns,
+                consumer -> reportService.streamReportsForExport(filter, consumer));
     }
 
     @GetMapping("/{id}")
@@ -27,14 +95,45 @@ public class ReportController {
         return report.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * One page of a recruiter's reports, paged like {@code /api/assessments/candidate/{candidateId}};
+     * full reports by default, {@code view=summary} leaves out the feedback text. Needs the
+     * recruiter's own session token.
+     */
     @GetMapping("/user/{userId}")
-    public List<Report> getReportsByUserId(@PathVariable Integer userId) {
-        return reportService.getReportsByUserId(userId);
+    public ResponseEntity<?> getReportsByUserId(
+            @PathVariable Integer userId,
+            @RequestParam(defaultValue = "detail") String view,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer limit,
+            @RequestAttribute(name = SessionPrincipal.ATTRIBUTE, required = false) SessionPrincipal principal,
+            WebRequest request) {
+        if (!SessionChecks.permits(principal, caller -> caller.isUser(userId))) {
+            return SessionChecks.refuse(principal);
+        }
+        Optional<View> listView = View.parse(view);
+        if (listView.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ConditionalResponses.of(request, reportService.getReportsVersion(), ConditionalResponses.USER_DATA, () -> {
+            if (listView.get() == View.SUMMARY) {
+                return CursorResponses.of(reportService.getReportSummariesByUserId(userId, after, limit));
+            }
+            return CursorResponses.of(reportService.getReportsByUserId(userId, after, limit));
+        });
     }
 
+    /**
+     * Only the references, skill and feedback are stored; candidate name, email and score are read
+     * from the score, so a report needs a {@code scoreId} (400 without one). A score has at most
+     * one report, a second one is answered with 409.
+     */
     @PostMapping
-    public Report createReport(@RequestBody Report report) {
-        return reportService.saveReport(report);
+    public ResponseEntity<Report> createReport(@RequestBody Report report) {
+        if (report.getScoreId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return save(report);
     }
 
     @PutMapping("/{id}")
@@ -42,8 +141,22 @@ public class ReportController {
         if (!reportService.getReportById(id).isPresent()) {
             return ResponseEntity.notFound().build();
         }
+        if (report.getScoreId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
         report.setReportId(id);
-        return ResponseEntity.ok(reportService.saveReport(report));
+        return save(report);
+    }
+
+    /** Saves and reads the report back, so the response carries the fields taken from the score. */
+    private ResponseEntity<Report> save(Report report) {
+        Report saved;
+        try {
+            saved = reportService.saveReport(report);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(reportService.reloadReport(saved.getReportId()).orElse(saved));
     }
 
     @DeleteMapping("/{id}")
@@ -12,15 +12,16 @@ import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/reviews")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = CursorResponses.NEXT_CURSOR)
 public class ReviewController {
 
     @Autowired
     private ReviewService reviewService;
 
     @GetMapping
-    public List<Review> getAllReviews() {
-        return reviewService.getAllReviews();
+    public ResponseEntity<List<Review>> getAllReviews(@RequestParam(required = false) Integer after,
+                                                      @RequestParam(required = false) Integer limit) {
+        return CursorResponses.of(reviewService.getReviews(after, limit));
     }
 
     @GetMapping("/{id}")
@@ -30,8 +31,13 @@ public class ReviewController {
     }
 
     @GetMapping("/user/{userId}")
-    public List<Review> getReviewsByUserId(@PathVariable Integer userId) {
-        return reviewService.getReviewsByUserId(userId);
+    public ResponseEntity<List<Review>> getReviewsByUserId(@PathVariable Integer userId,
+                                                           @RequestParam(required = false) Integer after,
+                                                           @RequestParam(required = false) Integer limit) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(reviewService.getReviewsByUserId(userId));
+        }
+        return CursorResponses.of(reviewService.getReviewsByUserId(userId, after, limit));
     }
 
     @PostMapping
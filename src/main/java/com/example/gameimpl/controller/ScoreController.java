@@ -1,26 +1,89 @@
 package com.example.gameimpl.controller;
 
-
+import com.example.gameimpl.auth.SessionPrincipal;
+import com.example.gameimpl.dto.ExportFilter;
+import com.example.gameimpl.dto.GameMetricsSummary;
+import com.example.gameimpl.dto.LeaderboardEntry;
+import com.example.gameimpl.dto.PercentileRank;
 import com.example.gameimpl.model.Score;
 import com.example.gameimpl.service.ScoreService;
+import com.example.gameimpl.service.ScoreWriteBehind;
+import com.example.gameimpl.telemetry.GameTelemetry;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/scores")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {CursorResponses.NEXT_CURSOR, HttpHeaders.CONTENT_DISPOSITION})
 public class ScoreController {
 
     @Autowired
     private ScoreService scoreService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public List<Score> getAllScores() {
-        return scoreService.getAllScores();
+    public ResponseEntity<List<Score>> getAllScores(@RequestParam(required = false) Integer after,
+                                                    @RequestParam(required = false) Integer limit) {
+        return CursorResponses.of(scoreService.getScores(after, limit));
+    }
+
+    @GetMapping("/stream")
+    public StreamingResponseBody streamAllScores() {
+        return JsonStreams.array(objectMapper, scoreService::streamAllScores);
+    }
+
+    /**
+     * Downloads the scores matching the filters as {@code format=csv} or {@code ndjson}, streamed from
+     * a database cursor; {@code gzip=true} compresses the download. Needs a recruiter's session token
+     * and exports only the scores of that recruiter's assessments; {@code companyId} and
+     * {@code hrId}, if given, have to be the recruiter's own.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportScores(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) Integer companyId,
+            @RequestParam(required = false) Integer hrId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestAttribute(name = SessionPrincipal.ATTRIBUTE, required = false) SessionPrincipal principal) {
+        if (!SessionChecks.permits(principal, caller -> caller.isRecruiter()
+                && (companyId == null || companyId.equals(caller.companyId()))
+                && (hrId == null || caller.isUser(hrId)))) {
+            return SessionChecks.refuse(principal);
+        }
+        Optional<ExportStreams.Format> exportFormat = ExportStreams.Format.parse(format);
+        if (exportFormat.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        ExportFilter filter = new ExportFilter(principal.companyId(), principal.userId(), from, to);
+        ExportStreams.Columns<Score> columns = new ExportStreams.Columns<Score>()
+                .add("scoreId", Score::getScoreId)
+                .add("assessmentId", Score::getAssessmentId)
+                .add("candidateId", Score::getCandidateId)
+                .add("gameType", Score::getGameType)
+                .add("score", Score::getScore)
+                .add("scoreValue", Score::getScoreValue)
+                .add("timeSpentSeconds", Score::getTimeSpentSeconds)
+                .add("attempts", Score::getAttempts)
+                .add("accuracy", Score::getAccuracy)
+                .add("feedback", Score::getFeedback)
+                .add("completedAt", Score::getCompletedAt);
+        return ExportStreams.export("scores", exportFormat.get(), gzip, objectMapper, columns,
+                consumer -> scoreService.streamScoresForExport(filter, consumer));
     }
 
     @GetMapping("/{id}")
@@ -29,20 +92,92 @@ public class ScoreController {
         return score.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/telemetry")
+    public ResponseEntity<GameTelemetry> getScoreTelemetry(@PathVariable Integer id) {
+        Optional<GameTelemetry> telemetry = scoreService.getTelemetry(id);
+        return telemetry.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/game-type/{gameType}")
+    public ResponseEntity<List<Score>> getScoresByGameType(@PathVariable String gameType,
+                                                           @RequestParam(required = false) Integer minScore,
+                                                           @RequestParam(required = false) Integer after,
+                                                           @RequestParam(required = false) Integer limit) {
+        return CursorResponses.of(scoreService.getScoresByGameType(gameType, minScore, after, limit));
+    }
+
+    @GetMapping("/game-type/{gameType}/metrics")
+    public ResponseEntity<GameMetricsSummary> getMetricsSummary(@PathVariable String gameType) {
+        Optional<GameMetricsSummary> summary = scoreService.getMetricsSummary(gameType);
+        return summary.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/game-type/{gameType}/percentile")
+    public ResponseEntity<PercentileRank> getPercentile(@PathVariable String gameType, @RequestParam Integer value) {
+        Optional<PercentileRank> percentile = scoreService.getPercentile(gameType, value);
+        return percentile.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/game-type/{gameType}/leaderboard")
+    public List<LeaderboardEntry> getLeaderboard(@PathVariable String gameType,
+                                                 @RequestParam(defaultValue = "10") int limit) {
+        return scoreService.getLeaderboard(gameType, limit);
+    }
+
+    @GetMapping("/leaderboard/stats")
+    public Map<String, Long> getLeaderboardStats() {
+        return scoreService.getLeaderboardStats();
+    }
+
+    @GetMapping("/{id}/percentile")
+    public ResponseEntity<PercentileRank> getScorePercentile(@PathVariable Integer id) {
+        Optional<PercentileRank> percentile = scoreService.getPercentileByScoreId(id);
+        return percentile.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/assessment/{assessmentId}")
     public ResponseEntity<Score> getScoreByAssessmentId(@PathVariable Integer assessmentId) {
         Optional<Score> score = scoreService.getScoreByAssessmentId(assessmentId);
         return score.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * One page of a candidate's scores, paged like {@code /api/assessments/candidate/{candidateId}};
+     * full scores by default, {@code view=summary} leaves out feedback and game data. Needs the
+     * candidate's own session token.
+     */
     @GetMapping("/candidate/{candidateId}")
-    public List<Score> getScoresByCandidateId(@PathVariable Integer candidateId) {
-        return scoreService.getScoresByCandidateId(candidateId);
+    public ResponseEntity<?> getScoresByCandidateId(
+            @PathVariable Integer candidateId,
+            @RequestParam(defaultValue = "detail") String view,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer limit,
+            @RequestAttribute(name = SessionPrincipal.ATTRIBUTE, required = false) SessionPrincipal principal) {
+        if (!SessionChecks.permits(principal, caller -> caller.isUser(candidateId))) {
+            return SessionChecks.refuse(principal);
+        }
+        Optional<View> listView = View.parse(view);
+        if (listView.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (listView.get() == View.SUMMARY) {
+            return CursorResponses.of(scoreService.getScoreSummariesByCandidateId(candidateId, after, limit));
+        }
+        return CursorResponses.of(scoreService.getScoresByCandidateId(candidateId, after, limit));
     }
 
+    /**
+     * Stores a new score. With write-behind enabled the call returns once the batch holding the
+     * score has committed, or with 503 when the ingestion queue is full, write-behind has stopped or
+     * the batch did not commit in time.
+     */
     @PostMapping
-    public Score createScore(@RequestBody Score score) {
-        return scoreService.saveScore(score);
+    public ResponseEntity<Score> createScore(@RequestBody Score score) {
+        try {
+            return ResponseEntity.ok(scoreService.saveScore(score));
+        } catch (ScoreWriteBehind.UnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,27 @@
+package com.example.gameimpl.controller;
+
+import com.example.gameimpl.auth.SessionPrincipal;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Predicate;
+
+/**
+ * Ownership checks for endpoints that serve one user's or one company's data. They fail closed:
+ * a request without a session token is answered 401 even while {@code app.auth.required} is off,
+ * and a token of someone the data does not belong to gets 403.
+ */
+final class SessionChecks {
+
+    private SessionChecks() {
+    }
+
+    static boolean permits(SessionPrincipal principal, Predicate<SessionPrincipal> rule) {
+        return principal != null && rule.test(principal);
+    }
+
+    /** The answer for a request {@link #permits} turned down. */
+    static <T> ResponseEntity<T> refuse(SessionPrincipal principal) {
+        return ResponseEntity.status(principal == null ? HttpStatus.UNAUTHORIZED : HttpStatus.FORBIDDEN).build();
+    }
+}
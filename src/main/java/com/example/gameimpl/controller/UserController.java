@@ -1,11 +1,17 @@
 package com.example.gameimpl.controller;
 
+import com.example.gameimpl.auth.SessionPrincipal;
+import com.example.gameimpl.auth.SessionTokens;
+import com.example.gameimpl.dto.LoginResponse;
+import com.example.gameimpl.dto.UserSummary;
 import com.example.gameimpl.model.User;
 import com.example.gameimpl.model.UserRole;
 import com.example.gameimpl.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -13,15 +19,38 @@ import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/users")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = CursorResponses.NEXT_CURSOR)
 public class UserController {
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SessionTokens sessionTokens;
+
+    /**
+     * Users page by page; {@code view=summary} (the default) reads the company number in the same
+     * query, {@code view=detail} returns the entities.
+     */
     @GetMapping
-    public List<User> getAllUsers() {
-        return userService.getAllUsers();
+    public ResponseEntity<?> getAllUsers(@RequestParam(defaultValue = "summary") String view,
+                                         @RequestParam(required = false) Integer after,
+                                         @RequestParam(required = false) Integer limit) {
+        Optional<View> listView = View.parse(view);
+        if (listView.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return listView.get() == View.SUMMARY
+                ? CursorResponses.of(userService.getUserSummaries(null, after, limit))
+                : CursorResponses.of(userService.getUsers(after, limit));
+    }
+
+    @GetMapping("/stream")
+    public StreamingResponseBody streamAllUsers() {
+        return JsonStreams.array(objectMapper, userService::streamAllUsers);
     }
 
     @GetMapping("/{id}")
@@ -37,8 +66,38 @@ public class UserController {
     }
 
     @GetMapping("/role/{role}")
-    public List<User> getUsersByRole(@PathVariable UserRole role) {
-        return userService.getUsersByRole(role);
+    public ResponseEntity<?> getUsersByRole(@PathVariable UserRole role,
+                                            @RequestParam(defaultValue = "summary") String view,
+                                            @RequestParam(required = false) Integer after,
+                                            @RequestParam(required = false) Integer limit) {
+        Optional<View> listView = View.parse(view);
+        if (listView.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return listView.get() == View.SUMMARY
+                ? CursorResponses.of(userService.getUserSummaries(role, after, limit))
+                : CursorResponses.of(userService.getUsersByRole(role, after, limit));
+    }
+
+    /**
+     * Typeahead for recruiters: candidates with an assessment from the company whose name or email
+     * contains {@code q}. Needs a recruiter's session token and searches the recruiter's company;
+     * {@code companyId}, if given, has to be that company.
+     */
+    @GetMapping("/candidates/search")
+    public ResponseEntity<List<UserSummary>> searchCandidates(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer companyId,
+            @RequestParam(required = false) Integer limit,
+            @RequestAttribute(name = SessionPrincipal.ATTRIBUTE, required = false) SessionPrincipal principal) {
+        if (!SessionChecks.permits(principal, caller -> caller.isRecruiter()
+                && (companyId == null || companyId.equals(caller.companyId())))) {
+            return SessionChecks.refuse(principal);
+        }
+        if (principal.companyId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(userService.searchCandidates(principal.companyId(), q, limit));
     }
 
     @PostMapping
@@ -47,27 +106,44 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<User> login(@RequestBody Map<String, String> credentials) {
+    public ResponseEntity<LoginResponse> login(@RequestBody Map<String, String> credentials) {
         String email = credentials.get("email");
         String password = credentials.get("password");
-        User user = userService.login(email, password);
-        if (user != null) {
-            return ResponseEntity.ok(user);
-        }
-        return ResponseEntity.notFound().build();
+        Optional<User> user = userService.login(email, password);
+        return user.map(found -> {
+            SessionTokens.Issued issued = sessionTokens.issue(found);
+            return ResponseEntity.ok(new LoginResponse(issued.token(), issued.expiresAt(), found));
+        }).orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/cache/stats")
+    public Map<String, Long> getCacheStats() {
+        return userService.getCacheStats();
+    }
+
+    /**
+     * Updates the caller's own name, email and password; {@code role} and {@code company} in the
+     * body are ignored.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Integer id, @RequestBody User user) {
-        if (!userService.getUserById(id).isPresent()) {
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<User> updateUser(
+            @PathVariable Integer id,
+            @RequestBody User user,
+            @RequestAttribute(name = SessionPrincipal.ATTRIBUTE, required = false) SessionPrincipal principal) {
+        if (!SessionChecks.permits(principal, caller -> caller.isUser(id))) {
+            return SessionChecks.refuse(principal);
         }
-        user.setId(id);
-        return ResponseEntity.ok(userService.saveUser(user));
+        return userService.updateUser(id, user).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    /** Deletes the caller's own account. */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Integer id) {
+    public ResponseEntity<Void> deleteUser(
+            @PathVariable Integer id,
+            @RequestAttribute(name = SessionPrincipal.ATTRIBUTE, required = false) SessionPrincipal principal) {
+        if (!SessionChecks.permits(principal, caller -> caller.isUser(id))) {
+            return SessionChecks.refuse(principal);
+        }
         if (!userService.getUserById(id).isPresent()) {
             return ResponseEntity.notFound().build();
         }
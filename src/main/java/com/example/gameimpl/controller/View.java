@@ -0,0 +1,18 @@
+package com.example.gameimpl.controller;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Shape of a list response, chosen with {@code ?view=}. {@code summary} leaves out the large
+ * text and JSON columns and anything that needs another table; {@code detail} returns the full
+ * rows. Single-item endpoints always return the detail.
+ */
+enum View {
+    SUMMARY,
+    DETAIL;
+
+    static Optional<View> parse(String value) {
+        return Arrays.stream(values()).filter(view -> view.name().equalsIgnoreCase(value)).findFirst();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.gameimpl.dto;
+
+import java.util.List;
+
+/**
+ * Assessment statistics for one recruiter or one company, assembled from aggregate queries.
+ * {@code completionRate} is completed / all assessments, {@code averageSecondsToComplete} runs
+ * from the assessment's creation to the completion of its score.
+ */
+public record AssessmentAnalytics(
+        Long assessments,
+        Long pending,
+        Long completed,
+        Long expired,
+        Double completionRate,
+        Double averageSecondsToComplete,
+        List<SkillScoreStats> skills
+) {
+}
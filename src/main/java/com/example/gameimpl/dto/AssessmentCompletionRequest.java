@@ -0,0 +1,13 @@
+package com.example.gameimpl.dto;
+
+/**
+ * Payload a game posts when the candidate finishes: the score plus the report text for the recruiter.
+ */
+public record AssessmentCompletionRequest(
+        String score,
+        String feedback,
+        String gameData,
+        String skillType,
+        String reportFeedback
+) {
+}
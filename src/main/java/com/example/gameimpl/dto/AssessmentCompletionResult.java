@@ -0,0 +1,14 @@
+package com.example.gameimpl.dto;
+
+import com.example.gameimpl.model.Assessment;
+import com.example.gameimpl.model.Score;
+
+/**
+ * A completed assessment and its score. The recruiter's report is generated asynchronously from
+ * the report outbox and appears under {@code /api/reports} shortly after.
+ */
+public record AssessmentCompletionResult(
+        Assessment assessment,
+        Score score
+) {
+}
@@ -0,0 +1,17 @@
+package com.example.gameimpl.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Invites every candidate in {@code candidateEmails} to the same game. {@code companyId} may be
+ * omitted, in which case the recruiter's company is used.
+ */
+public record BulkInvitationRequest(
+        Integer hrId,
+        Integer companyId,
+        Integer gameId,
+        LocalDateTime dueDate,
+        List<String> candidateEmails
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.gameimpl.dto;
+
+import java.util.List;
+
+public record BulkInvitationResult(
+        int invited,
+        List<Integer> assessmentIds,
+        List<String> unknownEmails
+) {
+}
@@ -0,0 +1,43 @@
+package com.example.gameimpl.dto;
+
+import com.example.gameimpl.model.AssessmentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Assessment row joined with the game and company summary the candidate dashboard renders.
+ */
+public record CandidateAssessmentView(
+        Integer id,
+        Integer hrId,
+        Integer candidateId,
+        Integer gameId,
+        Integer companyId,
+        AssessmentStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime dueDate,
+        GameSummary game,
+        CompanySummary company
+) {
+
+    public record GameSummary(Integer id, String gameName, String gameDescription, String skillName,
+                              String gameUrl, String gameImage, String gameType) {
+    }
+
+    /**
+     * Flat constructor used by the JPQL projection in {@code AssessmentRepository}.
+     */
+    public CandidateAssessmentView(Integer id, Integer hrId, Integer candidateId, Integer gameId, Integer companyId,
+                                   AssessmentStatus status, LocalDateTime createdAt, LocalDateTime updatedAt,
+                                   LocalDateTime dueDate,
+                                   String gameName, String gameDescription, String skillName,
+                                   String gameUrl, String gameImage, String gameType,
+                                   String companyName, String companyNumber) {
+        this(id, hrId, candidateId, gameId, companyId, status, createdAt, updatedAt, dueDate,
+                gameName != null
+                        ? new GameSummary(gameId, gameName, gameDescription, skillName, gameUrl, gameImage, gameType)
+                        : null,
+                companyName != null ? new CompanySummary(companyId, companyName, companyNumber) : null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.gameimpl.dto;
+
+import java.util.List;
+
+/**
+ * A candidate's assessments by status, each list ordered by due date. {@code expired} holds the
+ * invitations that ran out before they were played, so the candidate can see what was missed.
+ */
+public record CandidateDashboard(
+        List<CandidateAssessmentView> pending,
+        List<CandidateAssessmentView> completed,
+        List<CandidateAssessmentView> expired
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.gameimpl.dto;
+
+import java.util.List;
+
+/**
+ * A company with its recruiters, as returned by {@code /api/companies?view=detail}.
+ */
+public record CompanyDetail(
+        Integer id,
+        String companyName,
+        String companyNumber,
+        List<UserSummary> recruiters
+) {
+}
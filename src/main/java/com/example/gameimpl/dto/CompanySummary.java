@@ -0,0 +1,7 @@
+package com.example.gameimpl.dto;
+
+/**
+ * Company fields needed to show or resolve a company, without its recruiters.
+ */
+public record CompanySummary(Integer id, String companyName, String companyNumber) {
+}
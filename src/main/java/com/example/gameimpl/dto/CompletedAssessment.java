@@ -0,0 +1,17 @@
+package com.example.gameimpl.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A finished assessment as pushed to the recruiter's event stream.
+ */
+public record CompletedAssessment(
+        Integer assessmentId,
+        Integer hrId,
+        Integer candidateId,
+        Integer gameId,
+        Integer scoreId,
+        String score,
+        LocalDateTime completedAt
+) {
+}
@@ -0,0 +1,37 @@
+package com.example.gameimpl.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One keyset page: the rows plus the id to pass as {@code after} for the next page,
+ * or {@code null} when there is nothing left.
+ */
+public record CursorPage<T>(List<T> items, Integer nextCursor) {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    public static int limit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    public static int after(Integer requested) {
+        return requested == null ? 0 : requested;
+    }
+
+    /**
+     * Builds a page from a query that fetched {@code limit + 1} rows; the extra row only
+     * signals that another page exists and is not returned.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Integer> idOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, idOf.apply(items.get(limit - 1)));
+    }
+}
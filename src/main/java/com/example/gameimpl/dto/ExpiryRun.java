@@ -0,0 +1,6 @@
+package com.example.gameimpl.dto;
+
+import java.time.LocalDateTime;
+
+public record ExpiryRun(LocalDateTime startedAt, int expired, int chunks, long durationMillis) {
+}
@@ -0,0 +1,15 @@
+package com.example.gameimpl.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters of the report and score exports; a null field does not restrict the export.
+ * {@code from} is inclusive and {@code to} exclusive.
+ */
+public record ExportFilter(
+        Integer companyId,
+        Integer hrId,
+        LocalDateTime from,
+        LocalDateTime to
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.gameimpl.dto;
+
+/**
+ * Database-side aggregate of the metric columns of {@code score} for one game type.
+ */
+public record GameMetricsSummary(
+        String gameType,
+        Long scores,
+        Double averageScore,
+        Double averageTimeSpentSeconds,
+        Double averageAttempts,
+        Double averageAccuracy
+) {
+}
@@ -0,0 +1,30 @@
+package com.example.gameimpl.dto;
+
+import com.example.gameimpl.model.Score;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * One row of a per-game leaderboard; filled straight from {@code score} by a constructor projection.
+ */
+public record LeaderboardEntry(
+        Integer scoreId,
+        Integer assessmentId,
+        Integer candidateId,
+        String gameType,
+        Integer scoreValue,
+        LocalDateTime completedAt
+) {
+
+    /**
+     * @return the entry for a stored score, or empty if it has no game type or numeric value to rank by
+     */
+    public static Optional<LeaderboardEntry> of(Score score) {
+        if (score.getScoreId() == null || score.getGameType() == null || score.getScoreValue() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new LeaderboardEntry(score.getScoreId(), score.getAssessmentId(), score.getCandidateId(),
+                score.getGameType(), score.getScoreValue(), score.getCompletedAt()));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.gameimpl.dto;
+
+import com.example.gameimpl.model.User;
+
+import java.time.Instant;
+
+/**
+ * Result of a successful login: the session token to send as {@code Authorization: Bearer},
+ * when it expires, and the user it was issued for.
+ */
+public record LoginResponse(
+        String token,
+        Instant expiresAt,
+        User user
+) {
+}
@@ -0,0 +1,8 @@
+package com.example.gameimpl.dto;
+
+/**
+ * Report outbox state: entries waiting and given up on, the age of the oldest waiting entry
+ * ({@code null} when none is waiting), and entries processed and retried since startup.
+ */
+public record OutboxStats(long pending, long failed, Long lagSeconds, long processed, long retried) {
+}
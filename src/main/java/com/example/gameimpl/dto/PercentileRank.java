@@ -0,0 +1,13 @@
+package com.example.gameimpl.dto;
+
+/**
+ * Where {@code scoreValue} sits among the {@code scores} recorded for a game type, as a
+ * percentile rank between 0 and 100.
+ */
+public record PercentileRank(
+        String gameType,
+        Integer scoreValue,
+        Double percentile,
+        Long scores
+) {
+}
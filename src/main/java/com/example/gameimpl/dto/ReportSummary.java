@@ -0,0 +1,19 @@
+package com.example.gameimpl.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A report without its feedback text, for list responses; the full row is served by
+ * {@code /api/reports/{id}}.
+ */
+public record ReportSummary(
+        Integer reportId,
+        Integer userId,
+        Integer scoreId,
+        String fullname,
+        String email,
+        String score,
+        String skillType,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,21 @@
+package com.example.gameimpl.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A score without its feedback text and game data, for list responses; the full row is
+ * served by {@code /api/scores/{id}}.
+ */
+public record ScoreSummary(
+        Integer scoreId,
+        Integer assessmentId,
+        Integer candidateId,
+        String gameType,
+        String score,
+        Integer scoreValue,
+        Integer timeSpentSeconds,
+        Integer attempts,
+        Double accuracy,
+        LocalDateTime completedAt
+) {
+}
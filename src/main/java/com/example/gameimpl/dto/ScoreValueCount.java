@@ -0,0 +1,11 @@
+package com.example.gameimpl.dto;
+
+/**
+ * Number of scores with a given value for one game type, used to seed the leaderboard histograms.
+ */
+public record ScoreValueCount(
+        String gameType,
+        Integer scoreValue,
+        Long scores
+) {
+}
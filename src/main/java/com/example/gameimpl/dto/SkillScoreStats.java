@@ -0,0 +1,13 @@
+package com.example.gameimpl.dto;
+
+/**
+ * Per-skill aggregate over completed assessments, read through an interface projection of a
+ * native query because the median needs {@code percentile_cont}.
+ */
+public interface SkillScoreStats {
+    String getSkill();
+    Long getScores();
+    Double getAverageScore();
+    Double getMedianScore();
+    Double getAverageSecondsToComplete();
+}
@@ -0,0 +1,12 @@
+package com.example.gameimpl.dto;
+
+import com.example.gameimpl.model.AssessmentStatus;
+
+/**
+ * Number of assessments in one status, from a group-by over {@code assessment}.
+ */
+public record StatusCount(
+        AssessmentStatus status,
+        Long assessments
+) {
+}
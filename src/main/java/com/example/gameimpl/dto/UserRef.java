@@ -0,0 +1,7 @@
+package com.example.gameimpl.dto;
+
+/**
+ * Minimal user identity for lookups that do not need the rest of the entity.
+ */
+public record UserRef(Integer id, String email) {
+}
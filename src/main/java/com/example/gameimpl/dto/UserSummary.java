@@ -0,0 +1,17 @@
+package com.example.gameimpl.dto;
+
+import com.example.gameimpl.model.UserRole;
+
+/**
+ * A user as listed in directories: no credentials, and the company number read in the same
+ * query instead of through the lazy company association.
+ */
+public record UserSummary(
+        Integer id,
+        String firstName,
+        String lastName,
+        String email,
+        UserRole role,
+        String companyNumber
+) {
+}
@@ -0,0 +1,7 @@
+package com.example.gameimpl.events;
+
+import com.example.gameimpl.dto.CompletedAssessment;
+
+/** Published inside the completion transaction; listeners see it once that has committed. */
+public record AssessmentCompleted(CompletedAssessment completion) {
+}
@@ -0,0 +1,394 @@
+package com.example.gameimpl.events;
+
+import com.example.gameimpl.dto.CompletedAssessment;
+import com.example.gameimpl.model.Report;
+import com.example.gameimpl.repository.ReportRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Server-sent event streams for recruiter dashboards. Each open dashboard holds one
+ * {@link SseEmitter}; completed assessments ({@code assessment-completed}) and new reports
+ * ({@code report}) of the recruiter are pushed to it once their transaction has committed.
+ * <p>
+ * An idle stream is an asynchronous request parked in Tomcat without a thread, so thousands of
+ * open dashboards cost one socket and one small object each. A comment line every
+ * {@code app.events.heartbeat-seconds} keeps proxies from closing them and finds dead clients;
+ * streams end after {@code app.events.timeout-minutes} and the browser reconnects by itself.
+ * <p>
+ * Events are numbered per recruiter in commit order: the number is taken in the after-commit
+ * callback, under the same lock that records the event and queues it, so an event whose row got a
+ * lower id but committed later is still delivered and still replayed. Score and report ids are
+ * handed out at insert time and are not used as positions. The last
+ * {@code app.events.replay-limit} events of a recruiter are kept while a dashboard is open and for
+ * {@code app.events.replay-retention-minutes} after the last one closed; a reconnect sends its
+ * last event id back as {@code Last-Event-ID} and gets what it missed, or a {@code resync} event
+ * telling it to reload its lists when those events are no longer kept (including after a restart).
+ * <p>
+ * Neither the after-commit callback nor the heartbeat writes to a socket: under the channel lock
+ * events only go into a queue per stream, and a virtual thread per stream with queued events
+ * sends them. A stream that has {@code app.events.send-queue} events waiting is too slow to keep
+ * up; it is dropped and completed, and the browser reconnects and catches up from
+ * {@code Last-Event-ID}. For the same reason a reconnect that missed more events than that gets
+ * {@code resync} instead of a replay.
+ */
+@Component
+public class RecruiterEventHub {
+
+    static final String READY = "ready";
+    static final String ASSESSMENT_COMPLETED = "assessment-completed";
+    static final String REPORT = "report";
+    static final String RESYNC = "resync";
+
+    /** Resume position: the channel generation and the sequence number of the last event seen. */
+    record Position(String generation, long sequence) {
+
+        static Optional<Position> parse(String eventId) {
+            if (eventId == null) {
+                return Optional.empty();
+            }
+            int colon = eventId.indexOf(':');
+            try {
+                return colon > 0
+                        ? Optional.of(new Position(eventId.substring(0, colon), Long.parseLong(eventId.substring(colon + 1))))
+                        : Optional.empty();
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return generation + ":" + sequence;
+        }
+    }
+
+    /**
+     * A kept event: the completion itself, or for a report only its id, loaded again for a replay
+     * so the buffer does not hold report texts.
+     */
+    private record Event(long sequence, String name, Object kept) {
+    }
+
+    /**
+     * The events and open streams of one recruiter. Everything happens under its lock, so events
+     * are numbered, kept and queued in one order, and a stream that subscribes sees each event
+     * exactly once, either replayed or live.
+     */
+    private final class Channel {
+        private final Integer hrId;
+        private final String generation = Long.toString(generations.incrementAndGet(), 36) + "-" + epoch;
+        private final Set<Subscriber> subscribers = new LinkedHashSet<>();
+        private final Deque<Event> recent = new ArrayDeque<>();
+        private long sequence;
+        private long evictedUpTo; // highest sequence no longer kept
+        private long idleSince = System.nanoTime();
+        private boolean closed;
+
+        Channel(Integer hrId) {
+            this.hrId = hrId;
+        }
+
+        synchronized void publish(String name, Object data, Object kept) {
+            if (closed) {
+                return;
+            }
+            Event event = new Event(++sequence, name, kept);
+            recent.addLast(event);
+            while (recent.size() > replayLimit) {
+                evictedUpTo = recent.removeFirst().sequence();
+            }
+            for (Subscriber subscriber : List.copyOf(subscribers)) {
+                subscriber.send(position(event.sequence()), name, data);
+            }
+        }
+
+        /** @return false when the channel was closed meanwhile and a new one has to be used */
+        synchronized boolean subscribe(Subscriber subscriber, Optional<Position> resume) {
+            if (closed) {
+                return false;
+            }
+            subscribers.add(subscriber);
+            if (resume.isEmpty()) {
+                subscriber.send(position(sequence), READY, position(sequence).toString());
+            } else if (!resume.get().generation().equals(generation) || resume.get().sequence() < evictedUpTo
+                    || resume.get().sequence() > sequence || sequence - resume.get().sequence() > sendQueue) {
+                subscriber.send(position(sequence), RESYNC, position(sequence).toString());
+            } else {
+                replay(subscriber, resume.get().sequence());
+            }
+            return true;
+        }
+
+        synchronized void unsubscribe(Subscriber subscriber) {
+            if (subscribers.remove(subscriber)) {
+                connections.decrementAndGet();
+                if (subscribers.isEmpty()) {
+                    idleSince = System.nanoTime();
+                }
+            }
+        }
+
+        synchronized void heartbeat() {
+            List.copyOf(subscribers).forEach(Subscriber::heartbeat);
+        }
+
+        /** Closes the channel when no stream has been open for the retention time. */
+        synchronized boolean expire(long now) {
+            if (subscribers.isEmpty() && now - idleSince >= TimeUnit.MINUTES.toNanos(retentionMinutes)) {
+                closed = true;
+            }
+            return closed;
+        }
+
+        private void replay(Subscriber subscriber, long after) {
+            List<Event> missed = recent.stream().filter(event -> event.sequence() > after).toList();
+            List<Integer> reportIds = missed.stream()
+                    .map(Event::kept)
+                    .filter(Integer.class::isInstance)
+                    .map(Integer.class::cast)
+                    .toList();
+            Map<Integer, Report> reports = reportIds.isEmpty() ? Map.of() : reportRepository.findAllById(reportIds).stream()
+                    .collect(Collectors.toMap(Report::getReportId, Function.identity()));
+            for (Event event : missed) {
+                Object data = event.kept() instanceof Integer reportId ? reports.get(reportId) : event.kept();
+                if (data != null) {
+                    subscriber.send(position(event.sequence()), event.name(), data);
+                }
+            }
+        }
+
+        private Position position(long at) {
+            return new Position(generation, at);
+        }
+    }
+
+    /**
+     * One open stream. Events are queued under the channel lock and sent by one drain task at a
+     * time, so they go out in channel order without the lock waiting on the client.
+     */
+    private final class Subscriber {
+        private final Channel channel;
+        private final SseEmitter emitter;
+        private final Deque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean dropped;
+
+        Subscriber(Channel channel, SseEmitter emitter) {
+            this.channel = channel;
+            this.emitter = emitter;
+        }
+
+        void send(Position position, String name, Object data) {
+            enqueue(SseEmitter.event().id(position.toString()).name(name).data(data));
+        }
+
+        void heartbeat() {
+            enqueue(SseEmitter.event().comment("keep-alive"));
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            synchronized (this) {
+                if (dropped) {
+                    return;
+                }
+                if (pending.size() < sendQueue) {
+                    pending.addLast(event);
+                    if (draining) {
+                        return;
+                    }
+                    draining = true;
+                    senders.execute(this::drain);
+                    return;
+                }
+                dropped = true;
+                pending.clear();
+            }
+            // Too far behind: stop queueing and let it reconnect; completing may wait for a send
+            channel.unsubscribe(this);
+            droppedStreams.increment();
+            senders.execute(emitter::complete);
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = pending.pollFirst();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    close(e);
+                    return;
+                }
+            }
+        }
+
+        private void close(Exception cause) {
+            synchronized (this) {
+                dropped = true;
+                draining = false;
+                pending.clear();
+            }
+            channel.unsubscribe(this);
+            emitter.completeWithError(cause);
+        }
+    }
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.events.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${app.events.heartbeat-seconds:25}")
+    private long heartbeatSeconds;
+
+    @Value("${app.events.replay-limit:500}")
+    private int replayLimit;
+
+    @Value("${app.events.replay-retention-minutes:5}")
+    private long retentionMinutes;
+
+    @Value("${app.events.max-connections:10000}")
+    private int maxConnections;
+
+    @Value("${app.events.send-queue:100}")
+    private int sendQueue;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong generations = new AtomicLong();
+    private final Map<Integer, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private ScheduledExecutorService heartbeats;
+    private ExecutorService senders;
+    private Counter droppedStreams;
+
+    @PostConstruct
+    void start() {
+        heartbeats = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("recruiter-events-heartbeat").daemon(true).factory());
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("recruiter-events-send-", 1).factory());
+        droppedStreams = Counter.builder("recruiter.events.dropped")
+                .description("Recruiter event streams completed because they fell behind")
+                .register(meterRegistry);
+        Gauge.builder("recruiter.events.connections", connections, AtomicInteger::get)
+                .description("Open recruiter dashboard event streams")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeats.shutdownNow();
+        for (Channel channel : channels.values()) {
+            synchronized (channel) {
+                channel.closed = true;
+                List.copyOf(channel.subscribers).forEach(subscriber -> subscriber.emitter.complete());
+            }
+        }
+        senders.shutdownNow();
+    }
+
+    /**
+     * Opens a stream for {@code hrId}, replaying what happened after {@code lastEventId} when it is
+     * a position of the recruiter's current channel that is still kept, sending {@code resync} for
+     * any other position and {@code ready} when there is none.
+     *
+     * @return the emitter, or empty when {@code app.events.max-connections} streams are open
+     */
+    public Optional<SseEmitter> subscribe(Integer hrId, String lastEventId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(Duration.ofMinutes(timeoutMinutes).toMillis());
+        Optional<Position> resume = Position.parse(lastEventId);
+        while (true) {
+            Channel channel = channels.computeIfAbsent(hrId, Channel::new);
+            Subscriber subscriber = new Subscriber(channel, emitter);
+            if (channel.subscribe(subscriber, resume)) {
+                emitter.onCompletion(() -> channel.unsubscribe(subscriber));
+                emitter.onTimeout(() -> channel.unsubscribe(subscriber));
+                emitter.onError(error -> channel.unsubscribe(subscriber));
+                return Optional.of(emitter);
+            }
+            channels.remove(hrId, channel);
+        }
+    }
+
+    public Map<String, Integer> getStats() {
+        Map<String, Integer> stats = new LinkedHashMap<>();
+        stats.put("connections", connections.get());
+        stats.put("recruiters", channels.size());
+        return stats;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssessmentCompleted(AssessmentCompleted event) {
+        CompletedAssessment completion = event.completion();
+        channelOf(completion.hrId()).ifPresent(channel ->
+                channel.publish(ASSESSMENT_COMPLETED, completion, completion));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportCreated(ReportCreated event) {
+        Report report = event.report();
+        channelOf(report.getUserId()).ifPresent(channel ->
+                channel.publish(REPORT, report, report.getReportId()));
+    }
+
+    /** Events of recruiters without a kept channel are not buffered: nobody could resume from them. */
+    private Optional<Channel> channelOf(Integer hrId) {
+        return hrId != null ? Optional.ofNullable(channels.get(hrId)) : Optional.empty();
+    }
+
+    private void heartbeat() {
+        long now = System.nanoTime();
+        List<Channel> expired = new ArrayList<>();
+        for (Channel channel : channels.values()) {
+            channel.heartbeat();
+            if (channel.expire(now)) {
+                expired.add(channel);
+            }
+        }
+        expired.forEach(channel -> channels.remove(channel.hrId, channel));
+    }
+}
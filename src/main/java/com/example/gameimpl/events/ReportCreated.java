@@ -0,0 +1,7 @@
+package com.example.gameimpl.events;
+
+import com.example.gameimpl.model.Report;
+
+/** Published when a new report is saved; listeners see it once the saving transaction has committed. */
+public record ReportCreated(Report report) {
+}
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class Assessment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assessment_seq")
+    @SequenceGenerator(name = "assessment_seq", sequenceName = "assessment_seq", allocationSize = 50)
     private Integer id;
 
     @Column(name = "hr_id")
@@ -32,7 +33,9 @@ public class Assessment {
     @Column(name = "company_id")
     private Integer companyId;
 
-    private String status; // "PENDING", "COMPLETED", "EXPIRED"
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AssessmentStatus status;
 
     private LocalDateTime createdAt;
 
@@ -44,7 +47,7 @@ public class Assessment {
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
-        this.status = "PENDING";
+        this.status = AssessmentStatus.PENDING;
     }
 
     @PreUpdate
@@ -0,0 +1,7 @@
+package com.example.gameimpl.model;
+
+public enum AssessmentStatus {
+    PENDING,
+    COMPLETED,
+    EXPIRED
+}
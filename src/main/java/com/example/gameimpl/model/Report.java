@@ -1,22 +1,33 @@
 package com.example.gameimpl.model;
 
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Immutable;
 
 import java.time.LocalDateTime;
 
+/**
+ * A recruiter's report on a score, read from the {@code report_detail} view (V12): the report row
+ * only references the score and holds the skill and the report text, candidate name, email and
+ * score are joined in from {@code users} and {@code score} in the same query. They are read-only in
+ * JSON; the report is written as a {@link StoredReport}, whose copied columns are only filled for
+ * reports whose score or candidate has since been deleted (see V11 and
+ * {@code StoredReportRepository.copyScoreIntoReports}).
+ */
 @Entity
+@Immutable
+@Table(name = "report_detail")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Report {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer reportId;
 
     @Column(name = "user_id")
@@ -25,10 +36,13 @@ public class Report {
     @Column(name = "score_id")
     private Integer scoreId;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private String fullname;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private String email;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private String score;
 
     private String skillType;
@@ -38,9 +52,4 @@ public class Report {
 
     private LocalDateTime createdAt;
 
-    @PrePersist
-    protected void onCreate() {
-        this.createdAt = LocalDateTime.now();
-    }
-
 }
@@ -0,0 +1,65 @@
+package com.example.gameimpl.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A report still to be generated for a completed assessment. Written in the completion
+ * transaction and turned into a {@link Report} by {@code ReportOutboxWorker}; one entry per score.
+ */
+@Entity
+@Table(name = "report_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "score_id", nullable = false, unique = true)
+    private Integer scoreId;
+
+    @Column(name = "hr_id")
+    private Integer hrId;
+
+    @Column(name = "candidate_id")
+    private Integer candidateId;
+
+    private String skillType;
+
+    @Column(columnDefinition = "TEXT")
+    private String feedback; // cleared once DONE, the report keeps it
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime availableAt; // not picked up again before this time after a failed attempt
+
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.availableAt = this.createdAt;
+        this.status = OutboxStatus.PENDING;
+    }
+}
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 
@@ -27,13 +29,26 @@ public class Score {
 
     private String score;
 
+    @Column(name = "score_value")
+    private Integer scoreValue; // score parsed as a number, for ordering and aggregation
+
+    @Column(name = "game_type")
+    private String gameType;
+
+    private Integer timeSpentSeconds;
+
+    private Integer attempts;
+
+    private Double accuracy;
+
     @Column(columnDefinition = "TEXT")
     private String feedback;
 
     private LocalDateTime completedAt;
 
-    @Column(columnDefinition = "TEXT")
-    private String gameData; // JSON string for game-specific data
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private String gameData; // JSON document for game-specific data, see com.example.gameimpl.telemetry
 
     @PrePersist
     protected void onCreate() {
@@ -0,0 +1,43 @@
+package com.example.gameimpl.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * The {@code report} row behind a {@link Report}: what a report stores itself. The copied name,
+ * email and score columns are not mapped; only the deletes of a score or a candidate fill them.
+ */
+@Entity
+@Table(name = "report")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredReport {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer reportId;
+
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(name = "score_id")
+    private Integer scoreId;
+
+    private String skillType;
+
+    @Column(columnDefinition = "TEXT")
+    private String feedback;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -1,15 +1,126 @@
 package com.example.gameimpl.repository;
 
+import com.example.gameimpl.dto.CandidateAssessmentView;
+import com.example.gameimpl.dto.SkillScoreStats;
+import com.example.gameimpl.dto.StatusCount;
 import com.example.gameimpl.model.Assessment;
+import com.example.gameimpl.model.AssessmentStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AssessmentRepository extends JpaRepository<Assessment, Integer> {
     List<Assessment> findByCandidateId(Integer candidateId);
     List<Assessment> findByHrId(Integer hrId);
-    List<Assessment> findByStatus(String status);
+    List<Assessment> findByStatus(AssessmentStatus status);
 
+    List<Assessment> findByIdGreaterThanOrderByIdAsc(Integer after, Limit limit);
+    List<Assessment> findByCandidateIdAndIdGreaterThanOrderByIdAsc(Integer candidateId, Integer after, Limit limit);
+    List<Assessment> findByHrIdAndIdGreaterThanOrderByIdAsc(Integer hrId, Integer after, Limit limit);
+    List<Assessment> findByStatusAndIdGreaterThanOrderByIdAsc(AssessmentStatus status, Integer after, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select a from Assessment a order by a.id")
+    Stream<Assessment> streamAll();
+
+    @Query("select a.id from Assessment a where a.status = :status and a.dueDate < :now order by a.id")
+    List<Integer> findIdsByStatusAndDueDateBefore(@Param("status") AssessmentStatus status,
+                                                  @Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Moves the given assessments to {@code to} if they are still in {@code from}; rows that
+     * changed state since their ids were read are left alone.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Assessment a set a.status = :to, a.updatedAt = :now where a.id in :ids and a.status = :from")
+    int transitionStatus(@Param("ids") List<Integer> ids, @Param("from") AssessmentStatus from,
+                         @Param("to") AssessmentStatus to, @Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Assessment a where a.id = :id")
+    Optional<Assessment> findByIdForUpdate(@Param("id") Integer id);
+
+    @Query("""
+            select new com.example.gameimpl.dto.CandidateAssessmentView(
+                a.id, a.hrId, a.candidateId, a.gameId, a.companyId, a.status,
+                a.createdAt, a.updatedAt, a.dueDate,
+                g.gameName, g.gameDescription, g.skillName, g.gameUrl, g.gameImage, g.gameType,
+                c.companyName, c.companyNumber)
+            from Assessment a
+            left join Game g on g.id = a.gameId
+            left join Company c on c.id = a.companyId
+            where a.candidateId = :candidateId
+            order by a.dueDate
+            """)
+    List<CandidateAssessmentView> findDashboardViewsByCandidateId(@Param("candidateId") Integer candidateId);
+
+    @Query("""
+            select new com.example.gameimpl.dto.StatusCount(a.status, count(a))
+            from Assessment a
+            where a.hrId = :hrId
+            group by a.status
+            """)
+    List<StatusCount> countStatusesByHrId(@Param("hrId") Integer hrId);
+
+    @Query("""
+            select new com.example.gameimpl.dto.StatusCount(a.status, count(a))
+            from Assessment a
+            where a.companyId = :companyId
+            group by a.status
+            """)
+    List<StatusCount> countStatusesByCompanyId(@Param("companyId") Integer companyId);
+
+    /**
+     * Native because of {@code percentile_cont ... within group}, which H2 also understands in
+     * PostgreSQL mode (see {@code AssessmentAnalyticsTests}). The assessment side is read from
+     * {@code idx_assessment_hr_status} (V7) and the scores through {@code idx_score_assessment}.
+     * The join needs {@code a.id}, which that index does not hold, so unlike the status counts
+     * this is an index scan with heap reads rather than index-only; check the plan on PostgreSQL
+     * with {@code explain (analyze, buffers)}. The sort for the median grows with the recruiter's
+     * completed scores. Timed by {@code ServiceBenchmark.recruiterAnalytics}.
+     */
+    @Query(value = """
+            select g.skill_name as skill,
+                   count(*) as scores,
+                   avg(s.score_value) as averageScore,
+                   percentile_cont(0.5) within group (order by s.score_value) as medianScore,
+                   avg(extract(epoch from (s.completed_at - a.created_at))) as averageSecondsToComplete
+            from assessment a
+                     join score s on s.assessment_id = a.id
+                     left join game g on g.id = a.game_id
+            where a.hr_id = :hrId and a.status = 'COMPLETED'
+            group by g.skill_name
+            order by g.skill_name
+            """, nativeQuery = true)
+    List<SkillScoreStats> summarizeSkillsByHrId(@Param("hrId") Integer hrId);
+
+    /** As {@link #summarizeSkillsByHrId}, over {@code idx_assessment_company_status}. */
+    @Query(value = """
+            select g.skill_name as skill,
+                   count(*) as scores,
+                   avg(s.score_value) as averageScore,
+                   percentile_cont(0.5) within group (order by s.score_value) as medianScore,
+                   avg(extract(epoch from (s.completed_at - a.created_at))) as averageSecondsToComplete
+            from assessment a
+                     join score s on s.assessment_id = a.id
+                     left join game g on g.id = a.game_id
+            where a.company_id = :companyId and a.status = 'COMPLETED'
+            group by g.skill_name
+            order by g.skill_name
+            """, nativeQuery = true)
+    List<SkillScoreStats> summarizeSkillsByCompanyId(@Param("companyId") Integer companyId);
 }
@@ -1,12 +1,28 @@
 package com.example.gameimpl.repository;
 
+import com.example.gameimpl.dto.CompanySummary;
 import com.example.gameimpl.model.Company;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, Integer> {
     Optional<Company> findByCompanyNumber(String companyNumber);
+
+    @Query("select new com.example.gameimpl.dto.CompanySummary(c.id, c.companyName, c.companyNumber) from Company c order by c.id")
+    List<CompanySummary> findAllSummaries();
+
+    @Query("select new com.example.gameimpl.dto.CompanySummary(c.id, c.companyName, c.companyNumber) from Company c where c.id = :id")
+    Optional<CompanySummary> findSummaryById(@Param("id") Integer id);
+
+    @Query("""
+            select new com.example.gameimpl.dto.CompanySummary(c.id, c.companyName, c.companyNumber)
+            from Company c where c.companyNumber = :companyNumber
+            """)
+    Optional<CompanySummary> findSummaryByCompanyNumber(@Param("companyNumber") String companyNumber);
 }
@@ -0,0 +1,41 @@
+package com.example.gameimpl.repository;
+
+import com.example.gameimpl.model.OutboxStatus;
+import com.example.gameimpl.model.ReportOutboxEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportOutboxRepository extends JpaRepository<ReportOutboxEntry, Long> {
+
+    /**
+     * Locks the oldest due entries. Rows already locked by another worker are skipped
+     * ({@code SKIP LOCKED}) where the database supports it, so workers never wait on each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("select e from ReportOutboxEntry e where e.status = :status and e.availableAt <= :now order by e.id")
+    List<ReportOutboxEntry> claimBatch(@Param("status") OutboxStatus status, @Param("now") LocalDateTime now, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("select e from ReportOutboxEntry e where e.id = :id")
+    Optional<ReportOutboxEntry> claimById(@Param("id") Long id);
+
+    long countByStatus(OutboxStatus status);
+
+    @Query("select min(e.createdAt) from ReportOutboxEntry e where e.status = :status")
+    Optional<LocalDateTime> findOldestCreatedAt(@Param("status") OutboxStatus status);
+}
@@ -1,12 +1,53 @@
 package com.example.gameimpl.repository;
 
+import com.example.gameimpl.dto.ReportSummary;
 import com.example.gameimpl.model.Report;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+/** Reads reports through the {@code report_detail} view; they are written with {@link StoredReportRepository}. */
 @Repository
 public interface ReportRepository extends JpaRepository<Report, Integer> {
     List<Report> findByUserId(Integer userId);
+
+    List<Report> findByReportIdGreaterThanOrderByReportIdAsc(Integer after, Limit limit);
+    List<Report> findByUserIdAndReportIdGreaterThanOrderByReportIdAsc(Integer userId, Integer after, Limit limit);
+
+    @Query("""
+            select new com.example.gameimpl.dto.ReportSummary(
+                r.reportId, r.userId, r.scoreId, r.fullname, r.email, r.score, r.skillType, r.createdAt)
+            from Report r
+            where r.userId = :userId and r.reportId > :after
+            order by r.reportId
+            """)
+    List<ReportSummary> findSummariesByUserId(@Param("userId") Integer userId, @Param("after") Integer after,
+                                              Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select r from Report r order by r.reportId")
+    Stream<Report> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select r from Report r
+                left join Score s on s.scoreId = r.scoreId
+                left join Assessment a on a.id = s.assessmentId
+            where (:hrId is null or r.userId = :hrId)
+              and (:companyId is null or a.companyId = :companyId)
+              and (:from is null or r.createdAt >= :from)
+              and (:to is null or r.createdAt < :to)
+            order by r.reportId
+            """)
+    Stream<Report> streamForExport(@Param("companyId") Integer companyId, @Param("hrId") Integer hrId,
+                                   @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
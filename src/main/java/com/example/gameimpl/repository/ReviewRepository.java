@@ -1,6 +1,7 @@
 package com.example.gameimpl.repository;
 
 import com.example.gameimpl.model.Review;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +10,7 @@ import java.util.List;
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Integer> {
     List<Review> findByUserId(Integer userId);
+
+    List<Review> findByReviewIdGreaterThanOrderByReviewIdAsc(Integer after, Limit limit);
+    List<Review> findByUserIdAndReviewIdGreaterThanOrderByReviewIdAsc(Integer userId, Integer after, Limit limit);
 }
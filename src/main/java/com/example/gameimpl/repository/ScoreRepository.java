@@ -1,15 +1,96 @@
 package com.example.gameimpl.repository;
 
+import com.example.gameimpl.dto.GameMetricsSummary;
+import com.example.gameimpl.dto.LeaderboardEntry;
+import com.example.gameimpl.dto.ScoreSummary;
+import com.example.gameimpl.dto.ScoreValueCount;
 import com.example.gameimpl.model.Score;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ScoreRepository extends JpaRepository<Score, Integer> {
     Optional<Score> findByAssessmentId(Integer assessmentId);
     List<Score> findByCandidateId(Integer candidateId);
 
+    List<Score> findByScoreIdGreaterThanOrderByScoreIdAsc(Integer after, Limit limit);
+    List<Score> findByCandidateIdAndScoreIdGreaterThanOrderByScoreIdAsc(Integer candidateId, Integer after, Limit limit);
+
+    @Query("""
+            select new com.example.gameimpl.dto.ScoreSummary(
+                s.scoreId, s.assessmentId, s.candidateId, s.gameType, s.score, s.scoreValue,
+                s.timeSpentSeconds, s.attempts, s.accuracy, s.completedAt)
+            from Score s
+            where s.candidateId = :candidateId and s.scoreId > :after
+            order by s.scoreId
+            """)
+    List<ScoreSummary> findSummariesByCandidateId(@Param("candidateId") Integer candidateId,
+                                                  @Param("after") Integer after, Limit limit);
+
+    List<Score> findByGameTypeAndScoreValueGreaterThanEqualAndScoreIdGreaterThanOrderByScoreIdAsc(
+            String gameType, Integer minScore, Integer after, Limit limit);
+
+    @Query("""
+            select new com.example.gameimpl.dto.GameMetricsSummary(
+                s.gameType, count(s), avg(s.scoreValue), avg(s.timeSpentSeconds), avg(s.attempts), avg(s.accuracy))
+            from Score s
+            where s.gameType = :gameType
+            group by s.gameType
+            """)
+    Optional<GameMetricsSummary> summarizeByGameType(@Param("gameType") String gameType);
+
+    @Query("""
+            select new com.example.gameimpl.dto.ScoreValueCount(s.gameType, s.scoreValue, count(s))
+            from Score s
+            where s.gameType is not null and s.scoreValue is not null
+            group by s.gameType, s.scoreValue
+            """)
+    List<ScoreValueCount> countByGameTypeAndScoreValue();
+
+    @Query("""
+            select new com.example.gameimpl.dto.LeaderboardEntry(
+                s.scoreId, s.assessmentId, s.candidateId, s.gameType, s.scoreValue, s.completedAt)
+            from Score s
+            where s.gameType = :gameType and s.scoreValue is not null
+            order by s.scoreValue desc, s.scoreId asc
+            """)
+    List<LeaderboardEntry> findLeaderboard(@Param("gameType") String gameType, Limit limit);
+
+    @Query("""
+            select new com.example.gameimpl.dto.LeaderboardEntry(
+                s.scoreId, s.assessmentId, s.candidateId, s.gameType, s.scoreValue, s.completedAt)
+            from Score s
+            where s.scoreId in :scoreIds and s.gameType is not null and s.scoreValue is not null
+            """)
+    List<LeaderboardEntry> findLeaderboardEntries(@Param("scoreIds") Collection<Integer> scoreIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select s from Score s order by s.scoreId")
+    Stream<Score> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select s from Score s
+                left join Assessment a on a.id = s.assessmentId
+            where (:hrId is null or a.hrId = :hrId)
+              and (:companyId is null or a.companyId = :companyId)
+              and (:from is null or s.completedAt >= :from)
+              and (:to is null or s.completedAt < :to)
+            order by s.scoreId
+            """)
+    Stream<Score> streamForExport(@Param("companyId") Integer companyId, @Param("hrId") Integer hrId,
+                                  @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
 }
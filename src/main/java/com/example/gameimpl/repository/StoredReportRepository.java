@@ -0,0 +1,41 @@
+package com.example.gameimpl.repository;
+
+import com.example.gameimpl.model.StoredReport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StoredReportRepository extends JpaRepository<StoredReport, Integer> {
+    boolean existsByScoreId(Integer scoreId);
+
+    /**
+     * Copies the candidate's name and email and the score into the report of a score that is about
+     * to be deleted, so the report still shows them afterwards.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+            update report
+            set fullname = coalesce(fullname, (select u.first_name || ' ' || u.last_name
+                                               from score s join users u on u.id = s.candidate_id
+                                               where s.score_id = :scoreId)),
+                email    = coalesce(email, (select u.email
+                                            from score s join users u on u.id = s.candidate_id
+                                            where s.score_id = :scoreId)),
+                score    = coalesce(score, (select s.score from score s where s.score_id = :scoreId))
+            where score_id = :scoreId
+            """, nativeQuery = true)
+    int copyScoreIntoReports(@Param("scoreId") Integer scoreId);
+
+    /** Copies a candidate's name and email into the reports on their scores before the user is deleted. */
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+            update report
+            set fullname = coalesce(fullname, (select u.first_name || ' ' || u.last_name from users u where u.id = :candidateId)),
+                email    = coalesce(email, (select u.email from users u where u.id = :candidateId))
+            where score_id in (select s.score_id from score s where s.candidate_id = :candidateId)
+            """, nativeQuery = true)
+    int copyCandidateIntoReports(@Param("candidateId") Integer candidateId);
+}
@@ -1,15 +1,87 @@
 package com.example.gameimpl.repository;
 
+import com.example.gameimpl.dto.UserRef;
+import com.example.gameimpl.dto.UserSummary;
 import com.example.gameimpl.model.User;
 import com.example.gameimpl.model.UserRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
     Optional<User> findByEmail(String email);
     List<User> findByRole(UserRole role);
+
+    // The company is fetched with the page because the JSON includes its number
+    @EntityGraph(attributePaths = "company")
+    List<User> findByIdGreaterThanOrderByIdAsc(Integer after, Limit limit);
+    @EntityGraph(attributePaths = "company")
+    List<User> findByRoleAndIdGreaterThanOrderByIdAsc(UserRole role, Integer after, Limit limit);
+
+    @Query("""
+            select new com.example.gameimpl.dto.UserSummary(u.id, u.firstName, u.lastName, u.email, u.role, c.companyNumber)
+            from User u left join u.company c
+            where (:role is null or u.role = :role) and u.id > :after
+            order by u.id
+            """)
+    List<UserSummary> findSummaries(@Param("role") UserRole role, @Param("after") Integer after, Limit limit);
+
+    @Query("""
+            select new com.example.gameimpl.dto.UserSummary(u.id, u.firstName, u.lastName, u.email, u.role, c.companyNumber)
+            from User u join u.company c
+            order by u.id
+            """)
+    List<UserSummary> findCompanyMembers();
+
+    @Query("""
+            select new com.example.gameimpl.dto.UserSummary(u.id, u.firstName, u.lastName, u.email, u.role, c.companyNumber)
+            from User u left join u.company c
+            where u.id in :ids
+            """)
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Candidates with at least one assessment from the company whose "first last email", lower
+     * case, matches {@code pattern}; those with a name or email starting with {@code prefix}
+     * come first. Both patterns use a backslash as escape character. On PostgreSQL the filter is
+     * served by the trigram index idx_users_search_trgm, so the expression must stay as it is.
+     */
+    @Query(value = """
+            select u.id from users u
+            where u.role = 'CANDIDATE'
+              and lower(u.first_name || ' ' || u.last_name || ' ' || u.email) like :pattern escape '\\'
+              and exists (select 1 from assessment a where a.company_id = :companyId and a.candidate_id = u.id)
+            order by case when lower(u.first_name) like :prefix escape '\\'
+                            or lower(u.last_name) like :prefix escape '\\'
+                            or lower(u.email) like :prefix escape '\\' then 0 else 1 end,
+                     u.last_name, u.first_name, u.id
+            limit :limit
+            """, nativeQuery = true)
+    List<Integer> searchCandidateIds(@Param("companyId") Integer companyId, @Param("pattern") String pattern,
+                                     @Param("prefix") String prefix, @Param("limit") int limit);
+
+    @Query("select new com.example.gameimpl.dto.UserRef(u.id, u.email) from User u where u.email in :emails and u.role = :role")
+    List<UserRef> findRefsByEmailInAndRole(@Param("emails") Collection<String> emails, @Param("role") UserRole role);
+
+    @Query("select u from User u left join fetch u.company where u.id = :id")
+    Optional<User> findWithCompanyById(@Param("id") Integer id);
+
+    @Query("select u.company.id from User u where u.id = :id")
+    Optional<Integer> findCompanyIdByUserId(@Param("id") Integer id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select u from User u order by u.id")
+    Stream<User> streamAll();
 }
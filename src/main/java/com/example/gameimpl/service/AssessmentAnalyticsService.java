@@ -0,0 +1,63 @@
+package com.example.gameimpl.service;
+
+import com.example.gameimpl.dto.AssessmentAnalytics;
+import com.example.gameimpl.dto.SkillScoreStats;
+import com.example.gameimpl.dto.StatusCount;
+import com.example.gameimpl.model.AssessmentStatus;
+import com.example.gameimpl.repository.AssessmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recruiter and company analytics. Everything is aggregated by the database; only one row per
+ * status and one per skill comes back, no entities are loaded.
+ */
+@Service
+public class AssessmentAnalyticsService {
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Transactional(readOnly = true)
+    public AssessmentAnalytics getRecruiterAnalytics(Integer hrId) {
+        return assemble(assessmentRepository.countStatusesByHrId(hrId),
+                assessmentRepository.summarizeSkillsByHrId(hrId));
+    }
+
+    @Transactional(readOnly = true)
+    public AssessmentAnalytics getCompanyAnalytics(Integer companyId) {
+        return assemble(assessmentRepository.countStatusesByCompanyId(companyId),
+                assessmentRepository.summarizeSkillsByCompanyId(companyId));
+    }
+
+    private AssessmentAnalytics assemble(List<StatusCount> statuses, List<SkillScoreStats> skills) {
+        Map<AssessmentStatus, Long> byStatus = new EnumMap<>(AssessmentStatus.class);
+        statuses.forEach(row -> byStatus.put(row.status(), row.assessments()));
+        long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
+        long completed = byStatus.getOrDefault(AssessmentStatus.COMPLETED, 0L);
+
+        // Weighted by the number of scores per skill, which gives the mean over all completions.
+        long timed = 0;
+        double seconds = 0;
+        for (SkillScoreStats skill : skills) {
+            if (skill.getAverageSecondsToComplete() != null) {
+                timed += skill.getScores();
+                seconds += skill.getAverageSecondsToComplete() * skill.getScores();
+            }
+        }
+
+        return new AssessmentAnalytics(
+                total,
+                byStatus.getOrDefault(AssessmentStatus.PENDING, 0L),
+                completed,
+                byStatus.getOrDefault(AssessmentStatus.EXPIRED, 0L),
+                total > 0 ? (double) completed / total : null,
+                timed > 0 ? seconds / timed : null,
+                skills);
+    }
+}
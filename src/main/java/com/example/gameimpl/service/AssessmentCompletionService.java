@@ -0,0 +1,85 @@
+package com.example.gameimpl.service;
+
+import com.example.gameimpl.dto.AssessmentCompletionRequest;
+import com.example.gameimpl.dto.AssessmentCompletionResult;
+import com.example.gameimpl.dto.CompletedAssessment;
+import com.example.gameimpl.events.AssessmentCompleted;
+import com.example.gameimpl.model.Assessment;
+import com.example.gameimpl.model.AssessmentStatus;
+import com.example.gameimpl.model.Game;
+import com.example.gameimpl.model.Score;
+import com.example.gameimpl.repository.AssessmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Completes an assessment in one transaction: stores the score, marks the assessment
+ * COMPLETED and queues the recruiter's report in the outbox, so a dropped client never leaves a
+ * score without a report or a completed assessment without a score. The report itself is
+ * written by {@link ReportOutboxWorker}, keeping its cost out of the submission.
+ */
+@Service
+public class AssessmentCompletionService {
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private ScoreService scoreService;
+
+    @Autowired
+    private ReportOutboxService reportOutboxService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @return the stored assessment and score, or empty if the assessment does not exist
+     * @throws IllegalStateException if the assessment is no longer pending
+     */
+    @Transactional
+    public Optional<AssessmentCompletionResult> completeAssessment(Integer assessmentId,
+                                                                   AssessmentCompletionRequest request) {
+        Optional<Assessment> found = assessmentRepository.findByIdForUpdate(assessmentId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Assessment assessment = found.get();
+        if (assessment.getStatus() != AssessmentStatus.PENDING) {
+            throw new IllegalStateException("Assessment " + assessmentId + " is " + assessment.getStatus());
+        }
+
+        Optional<Game> game = assessment.getGameId() != null
+                ? gameService.getGameById(assessment.getGameId())
+                : Optional.empty();
+
+        Score score = new Score();
+        score.setAssessmentId(assessment.getId());
+        score.setCandidateId(assessment.getCandidateId());
+        score.setScore(request.score());
+        score.setFeedback(request.feedback());
+        score.setGameData(request.gameData());
+        score.setGameType(game.map(Game::getGameType).orElse(null));
+        score = scoreService.saveScore(score);
+
+        assessment.setStatus(AssessmentStatus.COMPLETED);
+        assessment = assessmentRepository.save(assessment);
+
+        String skillType = request.skillType() != null
+                ? request.skillType()
+                : game.map(Game::getSkillName).orElse(null);
+        reportOutboxService.enqueue(score, assessment.getHrId(), skillType, request.reportFeedback());
+        eventPublisher.publishEvent(new AssessmentCompleted(new CompletedAssessment(assessment.getId(),
+                assessment.getHrId(), assessment.getCandidateId(), assessment.getGameId(), score.getScoreId(),
+                score.getScore(), score.getCompletedAt())));
+
+        return Optional.of(new AssessmentCompletionResult(assessment, score));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.gameimpl.service;
+
+import com.example.gameimpl.cache.TableVersions;
+import com.example.gameimpl.dto.ExpiryRun;
+import com.example.gameimpl.model.Assessment;
+import com.example.gameimpl.model.AssessmentStatus;
+import com.example.gameimpl.repository.AssessmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves overdue PENDING assessments to EXPIRED. Each chunk of ids is read and updated with a
+ * single bulk UPDATE in its own short transaction, so no entities are loaded and row locks are
+ * only held for one chunk at a time.
+ */
+@Service
+public class AssessmentExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(AssessmentExpiryService.class);
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Value("${app.assessments.expiry.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.assessments.expiry.enabled:true}")
+    private boolean enabled;
+
+    private volatile ExpiryRun lastRun;
+
+    @Scheduled(cron = "${app.assessments.expiry.cron:0 */5 * * * *}")
+    public void scheduledExpiry() {
+        if (enabled) {
+            expireOverdueAssessments();
+        }
+    }
+
+    public ExpiryRun expireOverdueAssessments() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int expired = 0;
+        int chunks = 0;
+        while (true) {
+            Integer changed = transaction.execute(status -> {
+                List<Integer> ids = assessmentRepository.findIdsByStatusAndDueDateBefore(
+                        AssessmentStatus.PENDING, now, Limit.of(batchSize));
+                if (ids.isEmpty()) {
+                    return -1;
+                }
+                return assessmentRepository.transitionStatus(ids, AssessmentStatus.PENDING,
+                        AssessmentStatus.EXPIRED, now);
+            });
+            if (changed == null || changed < 0) {
+                break;
+            }
+            if (changed > 0) {
+                // Bulk updates skip Hibernate's entity events
+                tableVersions.changed(Assessment.class);
+            }
+            expired += changed;
+            chunks++;
+        }
+        ExpiryRun run = new ExpiryRun(now, expired, chunks, (System.nanoTime() - started) / 1_000_000);
+        lastRun = run;
+        if (expired > 0) {
+            log.info("Expired {} overdue assessments in {} chunks ({} ms)", run.expired(), run.chunks(), run.durationMillis());
+        }
+        return run;
+    }
+
+    public ExpiryRun getLastRun() {
+        return lastRun;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.gameimpl.service;
+
+import com.example.gameimpl.dto.BulkInvitationRequest;
+import com.example.gameimpl.dto.BulkInvitationResult;
+import com.example.gameimpl.dto.UserRef;
+import com.example.gameimpl.model.Assessment;
+import com.example.gameimpl.model.UserRole;
+import com.example.gameimpl.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates one assessment per invited candidate. Candidates are resolved with a single IN query
+ * and the assessments are persisted in flushes of {@code hibernate.jdbc.batch_size}, which the
+ * pooled sequence on {@link Assessment} allows Hibernate to send as JDBC batches.
+ */
+@Service
+public class AssessmentInvitationService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int batchSize;
+
+    @Transactional
+    public BulkInvitationResult inviteCandidates(BulkInvitationRequest request) {
+        Set<String> emails = request.candidateEmails().stream()
+                .filter(email -> email != null && !email.isBlank())
+                .map(String::trim)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, UserRef> candidates = userRepository.findRefsByEmailInAndRole(emails, UserRole.CANDIDATE).stream()
+                .collect(Collectors.toMap(UserRef::email, Function.identity()));
+        Integer companyId = request.companyId() != null
+                ? request.companyId()
+                : userRepository.findCompanyIdByUserId(request.hrId()).orElse(null);
+
+        List<Assessment> created = new ArrayList<>(candidates.size());
+        List<String> unknownEmails = new ArrayList<>();
+        for (String email : emails) {
+            UserRef candidate = candidates.get(email);
+            if (candidate == null) {
+                unknownEmails.add(email);
+                continue;
+            }
+            Assessment assessment = new Assessment();
+            assessment.setHrId(request.hrId());
+            assessment.setCandidateId(candidate.id());
+            assessment.setGameId(request.gameId());
+            assessment.setCompanyId(companyId);
+            assessment.setDueDate(request.dueDate());
+            entityManager.persist(assessment);
+            created.add(assessment);
+            if (created.size() % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Integer> ids = created.stream().map(Assessment::getId).toList();
+        return new BulkInvitationResult(ids.size(), ids, unknownEmails);
+    }
+}
@@ -1,12 +1,23 @@
 package com.example.gameimpl.service;
 
+import com.example.gameimpl.cache.TableVersions;
+import com.example.gameimpl.dto.CandidateAssessmentView;
+import com.example.gameimpl.dto.CandidateDashboard;
+import com.example.gameimpl.dto.CursorPage;
 import com.example.gameimpl.model.Assessment;
+import com.example.gameimpl.model.AssessmentStatus;
 import com.example.gameimpl.repository.AssessmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class AssessmentService {
@@ -14,23 +25,83 @@ public class AssessmentService {
     @Autowired
     private AssessmentRepository assessmentRepository;
 
+    @Autowired
+    private TableVersions tableVersions;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public List<Assessment> getAllAssessments() {
         return assessmentRepository.findAll();
     }
 
+    public CursorPage<Assessment> getAssessments(Integer after, Integer limit) {
+        int size = CursorPage.limit(limit);
+        List<Assessment> rows = assessmentRepository.findByIdGreaterThanOrderByIdAsc(CursorPage.after(after), Limit.of(size + 1));
+        return CursorPage.of(rows, size, Assessment::getId);
+    }
+
+    public CursorPage<Assessment> getAssessmentsByCandidateId(Integer candidateId, Integer after, Integer limit) {
+        int size = CursorPage.limit(limit);
+        List<Assessment> rows = assessmentRepository.findByCandidateIdAndIdGreaterThanOrderByIdAsc(
+                candidateId, CursorPage.after(after), Limit.of(size + 1));
+        return CursorPage.of(rows, size, Assessment::getId);
+    }
+
+    public CursorPage<Assessment> getAssessmentsByHrId(Integer hrId, Integer after, Integer limit) {
+        int size = CursorPage.limit(limit);
+        List<Assessment> rows = assessmentRepository.findByHrIdAndIdGreaterThanOrderByIdAsc(
+                hrId, CursorPage.after(after), Limit.of(size + 1));
+        return CursorPage.of(rows, size, Assessment::getId);
+    }
+
+    public CursorPage<Assessment> getAssessmentsByStatus(AssessmentStatus status, Integer after, Integer limit) {
+        int size = CursorPage.limit(limit);
+        List<Assessment> rows = assessmentRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                status, CursorPage.after(after), Limit.of(size + 1));
+        return CursorPage.of(rows, size, Assessment::getId);
+    }
+
+    /** Every assessment in id order, read through {@link DetachingStreams}. */
+    @Transactional(readOnly = true)
+    public void streamAllAssessments(Consumer<Assessment> consumer) {
+        DetachingStreams.forEach(entityManager, assessmentRepository.streamAll(), consumer);
+    }
+
     public Optional<Assessment> getAssessmentById(Integer id) {
         return assessmentRepository.findById(id);
     }
 
+    public TableVersions.Version getAssessmentsVersion() {
+        return tableVersions.of(Assessment.class);
+    }
+
     public List<Assessment> getAssessmentsByCandidateId(Integer candidateId) {
         return assessmentRepository.findByCandidateId(candidateId);
     }
 
+    @Transactional(readOnly = true)
+    public CandidateDashboard getCandidateDashboard(Integer candidateId) {
+        List<CandidateAssessmentView> pending = new ArrayList<>();
+        List<CandidateAssessmentView> completed = new ArrayList<>();
+        List<CandidateAssessmentView> expired = new ArrayList<>();
+        for (CandidateAssessmentView view : assessmentRepository.findDashboardViewsByCandidateId(candidateId)) {
+            if (view.status() == AssessmentStatus.PENDING) {
+                pending.add(view);
+            } else if (view.status() == AssessmentStatus.COMPLETED) {
+                completed.add(view);
+            } else if (view.status() == AssessmentStatus.EXPIRED) {
+                expired.add(view);
+            }
+        }
+        return new CandidateDashboard(pending, completed, expired);
+    }
+
     public List<Assessment> getAssessmentsByHrId(Integer hrId) {
         return assessmentRepository.findByHrId(hrId);
     }
 
-    public List<Assessment> getAssessmentsByStatus(String status) {
+    public List<Assessment> getAssessmentsByStatus(AssessmentStatus status) {
         return assessmentRepository.findByStatus(status);
     }
 
@@ -1,20 +1,39 @@
 package com.example.gameimpl.service;
 
+import com.example.gameimpl.cache.CompanyDirectoryCache;
+import com.example.gameimpl.cache.TableVersions;
+import com.example.gameimpl.dto.CompanyDetail;
+import com.example.gameimpl.dto.CompanySummary;
+import com.example.gameimpl.dto.UserSummary;
 import com.example.gameimpl.model.Company;
+import com.example.gameimpl.model.User;
 import com.example.gameimpl.repository.CompanyRepository;
+import com.example.gameimpl.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class CompanyService {
     @Autowired
     private CompanyRepository companyRepository;
 
-    public List<Company> getAllCompanies() {
-        return companyRepository.findAll();
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CompanyDirectoryCache companyDirectoryCache;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    /** Company details include their recruiters, so user changes count as well. */
+    public TableVersions.Version getCompaniesVersion() {
+        return tableVersions.of(Company.class, User.class);
     }
 
     public Optional<Company> getCompanyById(Integer id) {
@@ -25,11 +44,48 @@ public class CompanyService {
         return companyRepository.findByCompanyNumber(companyNumber);
     }
 
+    public List<CompanySummary> getCompanySummaries() {
+        return companyDirectoryCache.getAll();
+    }
+
+    /**
+     * All companies with their recruiters, from the directory cache and one query for the members
+     * of all companies rather than one lazy collection per company.
+     */
+    public List<CompanyDetail> getCompanyDetails() {
+        Map<String, List<UserSummary>> members = userRepository.findCompanyMembers().stream()
+                .collect(Collectors.groupingBy(UserSummary::companyNumber));
+        return companyDirectoryCache.getAll().stream()
+                .map(company -> new CompanyDetail(company.id(), company.companyName(), company.companyNumber(),
+                        members.getOrDefault(company.companyNumber(), List.of())))
+                .toList();
+    }
+
+    public Optional<CompanySummary> getCompanySummaryById(Integer id) {
+        return companyDirectoryCache.getById(id);
+    }
+
+    public Optional<CompanySummary> getCompanySummaryByNumber(String companyNumber) {
+        return companyDirectoryCache.getByNumber(companyNumber);
+    }
+
+    public Map<String, Long> getCacheStats() {
+        return companyDirectoryCache.getStats();
+    }
+
     public Company saveCompany(Company company) {
-        return companyRepository.save(company);
+        try {
+            return companyRepository.save(company);
+        } finally {
+            companyDirectoryCache.invalidate();
+        }
     }
 
     public void deleteCompany(Integer id) {
-        companyRepository.deleteById(id);
+        try {
+            companyRepository.deleteById(id);
+        } finally {
+            companyDirectoryCache.invalidate();
+        }
     }
 }
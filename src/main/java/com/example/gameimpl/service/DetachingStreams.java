@@ -0,0 +1,26 @@
+package com.example.gameimpl.service;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Hands the entities of a repository cursor to a consumer one at a time and detaches each one
+ * once the consumer has seen it, so the persistence context does not grow with the table. Runs
+ * inside the caller's read-only transaction, which keeps the cursor open, and closes the stream.
+ */
+final class DetachingStreams {
+
+    private DetachingStreams() {
+    }
+
+    static <T> void forEach(EntityManager entityManager, Stream<T> rows, Consumer<? super T> consumer) {
+        try (rows) {
+            rows.forEach(row -> {
+                consumer.accept(row);
+                entityManager.detach(row);
+            });
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.gameimpl.service;
 
+import com.example.gameimpl.cache.GameCatalogCache;
+import com.example.gameimpl.cache.TableVersions;
 import com.example.gameimpl.model.Game;
 import com.example.gameimpl.repository.GameRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -14,27 +17,53 @@ public class GameService {
     @Autowired
     private GameRepository gameRepository;
 
+    @Autowired
+    private GameCatalogCache gameCatalogCache;
+
+    @Autowired
+    private TableVersions tableVersions;
+
     public List<Game> getAllGames() {
-        return gameRepository.findAll();
+        return gameCatalogCache.getAll();
     }
 
     public Optional<Game> getGameById(Integer id) {
-        return gameRepository.findById(id);
+        return gameCatalogCache.getById(id);
     }
 
     public List<Game> getActiveGames() {
-        return gameRepository.findByActive(true);
+        return gameCatalogCache.getActive();
+    }
+
+    public TableVersions.Version getCatalogVersion() {
+        return tableVersions.of(Game.class);
+    }
+
+    public byte[] getActiveGamesJson() {
+        return gameCatalogCache.getActiveJson();
     }
 
     public List<Game> getGamesByType(String gameType) {
-        return gameRepository.findByGameType(gameType);
+        return gameCatalogCache.getByType(gameType);
+    }
+
+    public Map<String, Long> getCacheStats() {
+        return gameCatalogCache.getStats();
     }
 
     public Game saveGame(Game game) {
-        return gameRepository.save(game);
+        try {
+            return gameRepository.save(game);
+        } finally {
+            gameCatalogCache.invalidate();
+        }
     }
 
     public void deleteGame(Integer id) {
-        gameRepository.deleteById(id);
+        try {
+            gameRepository.deleteById(id);
+        } finally {
+            gameCatalogCache.invalidate();
+        }
     }
 }
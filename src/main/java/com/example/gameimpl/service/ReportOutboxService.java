@@ -0,0 +1,241 @@
+package com.example.gameimpl.service;
+
+import com.example.gameimpl.dto.OutboxStats;
+import com.example.gameimpl.model.OutboxStatus;
+import com.example.gameimpl.model.Report;
+import com.example.gameimpl.model.ReportOutboxEntry;
+import com.example.gameimpl.model.Score;
+import com.example.gameimpl.model.User;
+import com.example.gameimpl.repository.ReportOutboxRepository;
+import com.example.gameimpl.repository.ScoreRepository;
+import com.example.gameimpl.repository.StoredReportRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Transactional outbox for recruiter reports. {@link #enqueue} writes an entry in the caller's
+ * transaction, so a completion either commits together with its pending report or not at all;
+ * {@link #processDue()}, driven by {@link ReportOutboxWorker}, turns due entries into reports.
+ * <p>
+ * Processing is idempotent: an entry whose score already has a report is only marked DONE, and
+ * the report insert and the status change commit together. A DONE entry drops its feedback text,
+ * which then lives in the report only. A batch that fails is retried one
+ * entry at a time, and an entry that keeps failing is retried with exponential backoff until
+ * {@code app.reports.outbox.max-attempts}, after which it is left FAILED for inspection.
+ * <p>
+ * Meters: {@code reports.outbox.entries} (gauge per status), {@code reports.outbox.lag} (age of
+ * the oldest pending entry), {@code reports.outbox.processed}, {@code reports.outbox.retries},
+ * {@code reports.outbox.failures} and {@code reports.outbox.delay} (completion to report written).
+ */
+@Service
+public class ReportOutboxService {
+
+    /** Published for every new entry; the worker is woken once the enqueuing transaction commits. */
+    public record EntryAdded(Long id) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ReportOutboxService.class);
+    private static final long MAX_BACKOFF_SECONDS = 600;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private ReportOutboxRepository reportOutboxRepository;
+
+    @Autowired
+    private StoredReportRepository storedReportRepository;
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.reports.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.reports.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    private TransactionTemplate transaction;
+    private Counter processed;
+    private Counter retries;
+    private Counter failures;
+    private Timer delay;
+
+    @PostConstruct
+    void registerMeters() {
+        transaction = new TransactionTemplate(transactionManager);
+        processed = meterRegistry.counter("reports.outbox.processed");
+        retries = meterRegistry.counter("reports.outbox.retries");
+        failures = meterRegistry.counter("reports.outbox.failures");
+        delay = Timer.builder("reports.outbox.delay")
+                .description("Time from assessment completion until its report is written")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        for (OutboxStatus status : List.of(OutboxStatus.PENDING, OutboxStatus.FAILED)) {
+            Gauge.builder("reports.outbox.entries", reportOutboxRepository, repository -> repository.countByStatus(status))
+                    .tag("status", status.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("reports.outbox.lag", this, service -> {
+                    Long lag = service.lagSeconds();
+                    return lag != null ? lag : 0;
+                })
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public ReportOutboxEntry enqueue(Score score, Integer hrId, String skillType, String feedback) {
+        ReportOutboxEntry entry = new ReportOutboxEntry();
+        entry.setScoreId(score.getScoreId());
+        entry.setHrId(hrId);
+        entry.setCandidateId(score.getCandidateId());
+        entry.setSkillType(skillType);
+        entry.setFeedback(feedback);
+        entry = reportOutboxRepository.save(entry);
+        eventPublisher.publishEvent(new EntryAdded(entry.getId()));
+        return entry;
+    }
+
+    public OutboxStats getStats() {
+        return new OutboxStats(reportOutboxRepository.countByStatus(OutboxStatus.PENDING),
+                reportOutboxRepository.countByStatus(OutboxStatus.FAILED), lagSeconds(),
+                (long) processed.count(), (long) retries.count());
+    }
+
+    /**
+     * Processes up to {@code app.reports.outbox.batch-size} due entries.
+     *
+     * @return the number of entries handled, successfully or not; 0 when none was due
+     */
+    public int processDue() {
+        try {
+            List<ReportOutboxEntry> batch = transaction.execute(status -> {
+                List<ReportOutboxEntry> due = reportOutboxRepository.claimBatch(
+                        OutboxStatus.PENDING, LocalDateTime.now(), Limit.of(batchSize));
+                due.forEach(this::generate);
+                return due;
+            });
+            batch.forEach(this::recordDelivery);
+            return batch.size();
+        } catch (RuntimeException e) {
+            log.debug("Report outbox batch failed, retrying its entries one by one", e);
+            return processIndividually();
+        }
+    }
+
+    private int processIndividually() {
+        List<Long> ids = transaction.execute(status -> reportOutboxRepository
+                .claimBatch(OutboxStatus.PENDING, LocalDateTime.now(), Limit.of(batchSize)).stream()
+                .map(ReportOutboxEntry::getId)
+                .toList());
+        for (Long id : ids) {
+            try {
+                transaction.execute(status -> reportOutboxRepository.claimById(id)
+                        .filter(entry -> entry.getStatus() == OutboxStatus.PENDING)
+                        .map(entry -> {
+                            generate(entry);
+                            return entry;
+                        }))
+                        .ifPresent(this::recordDelivery);
+            } catch (RuntimeException e) {
+                recordFailure(id, e);
+            }
+        }
+        return ids.size();
+    }
+
+    private void generate(ReportOutboxEntry entry) {
+        entry.setAttempts(entry.getAttempts() + 1);
+        if (!storedReportRepository.existsByScoreId(entry.getScoreId())) {
+            scoreRepository.findById(entry.getScoreId())
+                    .ifPresent(score -> reportService.saveReport(buildReport(entry, score)));
+        }
+        entry.setStatus(OutboxStatus.DONE);
+        entry.setFeedback(null); // the report holds the text from here on
+        entry.setProcessedAt(LocalDateTime.now());
+        entry.setLastError(null);
+    }
+
+    /**
+     * The candidate's name and email and the score are not stored with the report; they are set
+     * here only so the {@code ReportCreated} event carries them.
+     */
+    private Report buildReport(ReportOutboxEntry entry, Score score) {
+        Report report = new Report();
+        report.setUserId(entry.getHrId());
+        report.setScoreId(score.getScoreId());
+        report.setScore(score.getScore());
+        report.setSkillType(entry.getSkillType());
+        report.setFeedback(entry.getFeedback());
+        Optional<User> candidate = entry.getCandidateId() != null
+                ? userService.getUserById(entry.getCandidateId())
+                : Optional.empty();
+        if (candidate.isPresent()) {
+            report.setFullname(candidate.get().getFirstName() + " " + candidate.get().getLastName());
+            report.setEmail(candidate.get().getEmail());
+        }
+        return report;
+    }
+
+    private void recordDelivery(ReportOutboxEntry entry) {
+        processed.increment();
+        delay.record(Duration.between(entry.getCreatedAt(), entry.getProcessedAt()));
+    }
+
+    private void recordFailure(Long id, RuntimeException error) {
+        transaction.executeWithoutResult(status -> reportOutboxRepository.findById(id).ifPresent(entry -> {
+            entry.setAttempts(entry.getAttempts() + 1);
+            String message = String.valueOf(error.getMessage());
+            entry.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            if (entry.getAttempts() >= maxAttempts) {
+                entry.setStatus(OutboxStatus.FAILED);
+                failures.increment();
+                log.warn("Giving up on report for score {} after {} attempts", entry.getScoreId(), entry.getAttempts(), error);
+            } else {
+                long backoff = Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(entry.getAttempts(), 20));
+                entry.setAvailableAt(LocalDateTime.now().plusSeconds(backoff));
+                retries.increment();
+                log.debug("Report for score {} failed, retrying in {} s", entry.getScoreId(), backoff, error);
+            }
+        }));
+    }
+
+    private Long lagSeconds() {
+        return reportOutboxRepository.findOldestCreatedAt(OutboxStatus.PENDING)
+                .map(oldest -> Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds()))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.gameimpl.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed pool of {@code app.reports.outbox.workers} threads draining the report outbox. A worker
+ * keeps claiming batches while there is work and otherwise sleeps until an entry is committed or
+ * {@code app.reports.outbox.poll-interval-ms} passes, which also picks up entries whose retry
+ * backoff has run out. The pool size bounds the database connections report generation can take
+ * away from request handling.
+ */
+@Service
+public class ReportOutboxWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportOutboxWorker.class);
+
+    @Autowired
+    private ReportOutboxService reportOutboxService;
+
+    @Value("${app.reports.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reports.outbox.workers:2}")
+    private int workers;
+
+    @Value("${app.reports.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMillis;
+
+    private final Semaphore wakeUp = new Semaphore(0);
+
+    private volatile ExecutorService pool;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || workers <= 0 || pool != null) {
+            return;
+        }
+        pool = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("report-outbox-", 1).daemon(true).factory());
+        for (int i = 0; i < workers; i++) {
+            pool.submit(this::drain);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntryAdded(ReportOutboxService.EntryAdded event) {
+        wakeUp.release();
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (pool != null) {
+            pool.shutdownNow();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+            pool = null;
+        }
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (reportOutboxService.processDue() == 0) {
+                    wakeUp.tryAcquire(pollIntervalMillis, TimeUnit.MILLISECONDS);
+                    wakeUp.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Report outbox processing failed", e);
+                try {
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
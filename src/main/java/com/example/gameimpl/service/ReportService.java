@@ -1,35 +1,134 @@
 package com.example.gameimpl.service;
 
+import com.example.gameimpl.cache.TableVersions;
+import com.example.gameimpl.dto.CursorPage;
+import com.example.gameimpl.dto.ExportFilter;
+import com.example.gameimpl.dto.ReportSummary;
+import com.example.gameimpl.events.ReportCreated;
 import com.example.gameimpl.model.Report;
+import com.example.gameimpl.model.Score;
+import com.example.gameimpl.model.StoredReport;
+import com.example.gameimpl.model.User;
 import com.example.gameimpl.repository.ReportRepository;
+import com.example.gameimpl.repository.StoredReportRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class ReportService {
     @Autowired
     private ReportRepository reportRepository;
 
+    @Autowired
+    private StoredReportRepository storedReportRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public List<Report> getAllReports() {
         return reportRepository.findAll();
     }
 
+    public CursorPage<Report> getReports(Integer after, Integer limit) {
+        int size = CursorPage.limit(limit);
+        List<Report> rows = reportRepository.findByReportIdGreaterThanOrderByReportIdAsc(CursorPage.after(after), Limit.of(size + 1));
+        return CursorPage.of(rows, size, Report::getReportId);
+    }
+
+    public CursorPage<Report> getReportsByUserId(Integer userId, Integer after, Integer limit) {
+        int size = CursorPage.limit(limit);
+        List<Report> rows = reportRepository.findByUserIdAndReportIdGreaterThanOrderByReportIdAsc(
+                userId, CursorPage.after(after), Limit.of(size + 1));
+        return CursorPage.of(rows, size, Report::getReportId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReportSummary> getReportSummariesByUserId(Integer userId) {
+        return reportRepository.findSummariesByUserId(userId, 0, Limit.unlimited());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReportSummary> getReportSummariesByUserId(Integer userId, Integer after, Integer limit) {
+        int size = CursorPage.limit(limit);
+        List<ReportSummary> rows = reportRepository.findSummariesByUserId(
+                userId, CursorPage.after(after), Limit.of(size + 1));
+        return CursorPage.of(rows, size, ReportSummary::reportId);
+    }
+
+    /** Every report in id order, read through {@link DetachingStreams}. */
+    @Transactional(readOnly = true)
+    public void streamAllReports(Consumer<Report> consumer) {
+        DetachingStreams.forEach(entityManager, reportRepository.streamAll(), consumer);
+    }
+
+    /** The reports matching {@code filter} in id order, for the export endpoints. */
+    @Transactional(readOnly = true)
+    public void streamReportsForExport(ExportFilter filter, Consumer<Report> consumer) {
+        DetachingStreams.forEach(entityManager,
+                reportRepository.streamForExport(filter.companyId(), filter.hrId(), filter.from(), filter.to()), consumer);
+    }
+
+    /** Reports read the candidate's name and email and the score from users and score, so those count too. */
+    public TableVersions.Version getReportsVersion() {
+        return tableVersions.of(StoredReport.class, Score.class, User.class);
+    }
+
     public Optional<Report> getReportById(Integer id) {
         return reportRepository.findById(id);
     }
 
+    /** Reads the report again, past a copy the persistence context may still hold from before a save. */
+    @Transactional(readOnly = true)
+    public Optional<Report> reloadReport(Integer id) {
+        Optional<Report> report = reportRepository.findById(id);
+        report.ifPresent(entityManager::refresh);
+        return report;
+    }
+
     public List<Report> getReportsByUserId(Integer userId) {
         return reportRepository.findByUserId(userId);
     }
 
+    /**
+     * Stores the report's own fields as a {@link StoredReport}, keeping the creation time of an
+     * existing one, and sets the id and creation time on {@code report}. A new report is announced
+     * as {@link ReportCreated} once the surrounding transaction, if any, has committed.
+     */
+    @Transactional
     public Report saveReport(Report report) {
-        return reportRepository.save(report);
+        StoredReport stored = Optional.ofNullable(report.getReportId())
+                .flatMap(storedReportRepository::findById)
+                .orElseGet(StoredReport::new);
+        boolean created = stored.getReportId() == null;
+        stored.setUserId(report.getUserId());
+        stored.setScoreId(report.getScoreId());
+        stored.setSkillType(report.getSkillType());
+        stored.setFeedback(report.getFeedback());
+        StoredReport saved = storedReportRepository.saveAndFlush(stored);
+        report.setReportId(saved.getReportId());
+        report.setCreatedAt(saved.getCreatedAt());
+        if (created) {
+            eventPublisher.publishEvent(new ReportCreated(report));
+        }
+        return report;
     }
 
     public void deleteReport(Integer id) {
-        reportRepository.deleteById(id);
+        storedReportRepository.deleteById(id);
     }
 }
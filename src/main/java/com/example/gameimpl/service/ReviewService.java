@@ -1,8 +1,10 @@
 package com.example.gameimpl.service;
 
+import com.example.gameimpl.dto.CursorPage;
 import com.example.gameimpl.model.Review;
 import com.example.gameimpl.repository.ReviewRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -18,6 +20,19 @@ public class ReviewService {
         return reviewRepository.findAll();
     }
 
+    public CursorPage<Review> getReviews(Integer after, Integer limit) {
+        int size = CursorPage.limit(limit);
+        List<Review> rows = reviewRepository.findByReviewIdGreaterThanOrderByReviewIdAsc(CursorPage.after(after), Limit.of(size + 1));
+        return CursorPage.of(rows, size, Review::getReviewId);
+    }
+
+    public CursorPage<Review> getReviewsByUserId(Integer userId, Integer after, Integer limit) {
+        int size = CursorPage.limit(limit);
+        List<Review> rows = reviewRepository.findByUserIdAndReviewIdGreaterThanOrderByReviewIdAsc(
+                userId, CursorPage.after(after), Limit.of(size + 1));
+        return CursorPage.of(rows, size, Review::getReviewId);
+    }
+
     public Optional<Review> getReviewById(Integer id) {
         return reviewRepository.findById(id);
     }
@@ -1,22 +1,100 @@
 package com.example.gameimpl.service;
 
+import com.example.gameimpl.cache.ScoreLeaderboard;
+import com.example.gameimpl.dto.CursorPage;
+import com.example.gameimpl.dto.ExportFilter;
+import com.example.gameimpl.dto.GameMetricsSummary;
+import com.example.gameimpl.dto.LeaderboardEntry;
+import com.example.gameimpl.dto.PercentileRank;
+import com.example.gameimpl.dto.ScoreSummary;
+import com.example.gameimpl.model.Game;
 import com.example.gameimpl.model.Score;
+import com.example.gameimpl.repository.AssessmentRepository;
 import com.example.gameimpl.repository.ScoreRepository;
+import com.example.gameimpl.repository.StoredReportRepository;
+import com.example.gameimpl.telemetry.GameTelemetry;
+import com.example.gameimpl.telemetry.GameTelemetryParser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class ScoreService {
     @Autowired
     private ScoreRepository scoreRepository;
 
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private StoredReportRepository storedReportRepository;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameTelemetryParser gameTelemetryParser;
+
+    @Autowired
+    private ScoreLeaderboard scoreLeaderboard;
+
+    @Autowired
+    private ScoreWriteBehind scoreWriteBehind;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public List<Score> getAllScores() {
         return scoreRepository.findAll();
     }
 
+    public CursorPage<Score> getScores(Integer after, Integer limit) {
+        int size = CursorPage.limit(limit);
+        List<Score> rows = scoreRepository.findByScoreIdGreaterThanOrderByScoreIdAsc(CursorPage.after(after), Limit.of(size + 1));
+        return CursorPage.of(rows, size, Score::getScoreId);
+    }
+
+    public CursorPage<Score> getScoresByCandidateId(Integer candidateId, Integer after, Integer limit) {
+        int size = CursorPage.limit(limit);
+        List<Score> rows = scoreRepository.findByCandidateIdAndScoreIdGreaterThanOrderByScoreIdAsc(
+                candidateId, CursorPage.after(after), Limit.of(size + 1));
+        return CursorPage.of(rows, size, Score::getScoreId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScoreSummary> getScoreSummariesByCandidateId(Integer candidateId) {
+        return scoreRepository.findSummariesByCandidateId(candidateId, 0, Limit.unlimited());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ScoreSummary> getScoreSummariesByCandidateId(Integer candidateId, Integer after, Integer limit) {
+        int size = CursorPage.limit(limit);
+        List<ScoreSummary> rows = scoreRepository.findSummariesByCandidateId(
+                candidateId, CursorPage.after(after), Limit.of(size + 1));
+        return CursorPage.of(rows, size, ScoreSummary::scoreId);
+    }
+
+    /** Every score in id order, read through {@link DetachingStreams}. */
+    @Transactional(readOnly = true)
+    public void streamAllScores(Consumer<Score> consumer) {
+        DetachingStreams.forEach(entityManager, scoreRepository.streamAll(), consumer);
+    }
+
+    /** The scores matching {@code filter} in id order, for the export endpoints. */
+    @Transactional(readOnly = true)
+    public void streamScoresForExport(ExportFilter filter, Consumer<Score> consumer) {
+        DetachingStreams.forEach(entityManager,
+                scoreRepository.streamForExport(filter.companyId(), filter.hrId(), filter.from(), filter.to()), consumer);
+    }
+
     public Optional<Score> getScoreById(Integer id) {
         return scoreRepository.findById(id);
     }
@@ -29,11 +107,67 @@ public class ScoreService {
         return scoreRepository.findByCandidateId(candidateId);
     }
 
+    public CursorPage<Score> getScoresByGameType(String gameType, Integer minScore, Integer after, Integer limit) {
+        int size = CursorPage.limit(limit);
+        List<Score> rows = scoreRepository.findByGameTypeAndScoreValueGreaterThanEqualAndScoreIdGreaterThanOrderByScoreIdAsc(
+                gameType, minScore != null ? minScore : Integer.MIN_VALUE, CursorPage.after(after), Limit.of(size + 1));
+        return CursorPage.of(rows, size, Score::getScoreId);
+    }
+
+    public Optional<GameMetricsSummary> getMetricsSummary(String gameType) {
+        return scoreRepository.summarizeByGameType(gameType);
+    }
+
+    /**
+     * Parses the stored game data into the typed telemetry of the score's game; this is the only
+     * place {@code gameData} is deserialized.
+     */
+    public Optional<GameTelemetry> getTelemetry(Integer scoreId) {
+        return scoreRepository.findById(scoreId)
+                .flatMap(score -> gameTelemetryParser.parse(score.getGameType(), score.getGameData()));
+    }
+
+    public Optional<PercentileRank> getPercentile(String gameType, int scoreValue) {
+        return scoreLeaderboard.getPercentile(gameType, scoreValue);
+    }
+
+    public Optional<PercentileRank> getPercentileByScoreId(Integer scoreId) {
+        return scoreRepository.findById(scoreId).flatMap(scoreLeaderboard::getPercentile);
+    }
+
+    public List<LeaderboardEntry> getLeaderboard(String gameType, int limit) {
+        return scoreLeaderboard.getTop(gameType, limit);
+    }
+
+    public Map<String, Long> getLeaderboardStats() {
+        return scoreLeaderboard.getStats();
+    }
+
     public Score saveScore(Score score) {
-        return scoreRepository.save(score);
+        if (score.getGameType() == null && score.getAssessmentId() != null) {
+            score.setGameType(assessmentRepository.findById(score.getAssessmentId())
+                    .flatMap(assessment -> gameService.getGameById(assessment.getGameId()))
+                    .map(Game::getGameType)
+                    .orElse(null));
+        }
+        Optional<LeaderboardEntry> previous = score.getScoreId() != null
+                ? scoreRepository.findById(score.getScoreId()).flatMap(LeaderboardEntry::of)
+                : Optional.empty();
+        gameTelemetryParser.applyMetrics(score);
+        if (score.getScoreId() == null && scoreWriteBehind.accepts()) {
+            return scoreWriteBehind.insert(score);
+        }
+        Score saved = scoreRepository.save(score);
+        scoreLeaderboard.record(previous, LeaderboardEntry.of(saved));
+        return saved;
     }
 
+    /** Copies the score and its candidate into the score's report first, which reads them from here. */
+    @Transactional
     public void deleteScore(Integer id) {
+        Optional<LeaderboardEntry> previous = scoreRepository.findById(id).flatMap(LeaderboardEntry::of);
+        storedReportRepository.copyScoreIntoReports(id);
         scoreRepository.deleteById(id);
+        previous.ifPresent(scoreLeaderboard::remove);
     }
 }
@@ -0,0 +1,329 @@
+package com.example.gameimpl.service;
+
+import com.example.gameimpl.cache.ScoreLeaderboard;
+import com.example.gameimpl.cache.TableVersions;
+import com.example.gameimpl.dto.LeaderboardEntry;
+import com.example.gameimpl.model.Score;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit for new scores. With {@code app.scores.write-behind.enabled}, scores submitted
+ * outside a transaction are put on a bounded queue; one flusher thread takes up to
+ * {@code batch-size} of them, waiting at most {@code max-delay-ms} for the batch to fill, and
+ * stores them with a single multi-row INSERT in one transaction. Each caller blocks until the
+ * transaction holding its row has committed, so a returned score is as durable as one saved
+ * directly, but a burst of submissions pays for one commit per batch instead of one per score.
+ * <p>
+ * When the queue stays full for {@code offer-timeout-ms} the submission is rejected with
+ * {@link QueueFullException} instead of queueing without bound. A batch that fails is retried
+ * one score at a time, so a bad row only fails its own caller.
+ * <p>
+ * No caller waits forever: after {@code stop()}, or when the flusher has died, {@link #accepts()}
+ * is false and {@link #insert} fails with {@link UnavailableException}, as do the scores still
+ * queued then. A caller whose batch has not committed within {@code commit-timeout-ms} gets the
+ * same exception; its score may still be stored afterwards.
+ * <p>
+ * Meters: {@code scores.write-behind.queued} (gauge), {@code scores.write-behind.batch-size},
+ * {@code scores.write-behind.flush} (time per batch transaction) and
+ * {@code scores.write-behind.rejected}.
+ */
+@Service
+public class ScoreWriteBehind {
+
+    /** The score was not stored, or not in time; the caller may try again later. */
+    public static class UnavailableException extends RuntimeException {
+        UnavailableException(String message) {
+            super(message);
+        }
+    }
+
+    /** The queue stayed full for {@code app.scores.write-behind.offer-timeout-ms}. */
+    public static class QueueFullException extends UnavailableException {
+        QueueFullException() {
+            super("Score ingestion queue is full");
+        }
+    }
+
+    private record Pending(Score score, CompletableFuture<Score> stored) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreWriteBehind.class);
+
+    private static final String STOPPED = "Score ingestion has stopped";
+
+    private static final String INSERT = "insert into score (assessment_id, candidate_id, score, score_value, game_type, "
+            + "time_spent_seconds, attempts, accuracy, feedback, completed_at, game_data) values ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ScoreLeaderboard scoreLeaderboard;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.scores.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.scores.write-behind.capacity:5000}")
+    private int capacity;
+
+    @Value("${app.scores.write-behind.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.scores.write-behind.max-delay-ms:2}")
+    private long maxDelayMillis;
+
+    @Value("${app.scores.write-behind.offer-timeout-ms:200}")
+    private long offerTimeoutMillis;
+
+    @Value("${app.scores.write-behind.commit-timeout-ms:5000}")
+    private long commitTimeoutMillis;
+
+    private BlockingQueue<Pending> queue;
+    private TransactionTemplate transaction;
+    private String rowValues;
+    private Thread flusher;
+    private volatile boolean running;
+    private Counter rejected;
+    private DistributionSummary batchSizes;
+    private Timer flushes;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(capacity);
+        transaction = new TransactionTemplate(transactionManager);
+        rejected = meterRegistry.counter("scores.write-behind.rejected");
+        batchSizes = DistributionSummary.builder("scores.write-behind.batch-size")
+                .description("Scores stored per flush")
+                .register(meterRegistry);
+        flushes = Timer.builder("scores.write-behind.flush")
+                .description("Insert and commit time per flushed batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("scores.write-behind.queued", queue, BlockingQueue::size).register(meterRegistry);
+        running = true;
+        flusher = Thread.ofPlatform().name("score-write-behind").daemon(true).start(this::run);
+    }
+
+    /** Takes no new scores, lets the flusher store what is queued and fails whatever is left after. */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (flusher != null) {
+            running = false;
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+            failQueued();
+        }
+    }
+
+    /**
+     * Whether {@link #insert} can take a new score: write-behind is enabled and running and the
+     * caller is not inside a transaction, whose other writes the score has to commit with.
+     */
+    public boolean accepts() {
+        return enabled && running && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /**
+     * Queues a new score and waits until it is committed.
+     *
+     * @return {@code score} with its generated id
+     * @throws QueueFullException if no queue slot became free within {@code offer-timeout-ms}
+     * @throws UnavailableException if write-behind has stopped or the score was not committed
+     *                              within {@code commit-timeout-ms}
+     */
+    public Score insert(Score score) {
+        if (!running) {
+            throw new UnavailableException(STOPPED);
+        }
+        Pending pending = new Pending(score, new CompletableFuture<>());
+        try {
+            if (!queue.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new QueueFullException();
+            }
+            // Stopped while offering: the flusher may have drained the queue for the last time
+            if (!running && queue.remove(pending)) {
+                throw new UnavailableException(STOPPED);
+            }
+            return pending.stored().get(commitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new UnavailableException("Score was not committed within " + commitTimeoutMillis + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the score to be stored", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+                    while (batch.size() < batchSize) {
+                        queue.drainTo(batch, batchSize - batch.size());
+                        long remaining = deadline - System.nanoTime();
+                        if (batch.size() >= batchSize || remaining <= 0) {
+                            break;
+                        }
+                        Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                flush(batch);
+                batch.clear();
+            }
+            // Shutting down: store what is still queued rather than failing its callers. The interrupt
+            // flag is cleared first so the pool does not refuse the connection.
+            Thread.interrupted();
+            while (queue.drainTo(batch, batchSize) > 0) {
+                flush(batch);
+                batch.clear();
+            }
+        } finally {
+            if (running) {
+                log.error("Score write-behind flusher stopped unexpectedly; scores are stored directly from now on");
+            }
+            running = false;
+            // completes only the ones a failed flush left open
+            batch.forEach(pending -> pending.stored().completeExceptionally(new UnavailableException(STOPPED)));
+            failQueued();
+        }
+    }
+
+    private void failQueued() {
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(pending -> pending.stored().completeExceptionally(new UnavailableException(STOPPED)));
+    }
+
+    private void flush(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            transaction.executeWithoutResult(status -> insertRows(batch.stream().map(Pending::score).toList()));
+            flushes.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            batchSizes.record(batch.size());
+            batch.forEach(this::stored);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).stored().completeExceptionally(e);
+                return;
+            }
+            log.warn("Score batch of {} failed, storing one at a time: {}", batch.size(), e.getMessage());
+            for (Pending pending : batch) {
+                pending.score().setScoreId(null);
+                flush(List.of(pending));
+            }
+        }
+    }
+
+    private void stored(Pending pending) {
+        tableVersions.changed(Score.class);
+        scoreLeaderboard.record(Optional.empty(), LeaderboardEntry.of(pending.score()));
+        pending.stored().complete(pending.score());
+    }
+
+    /**
+     * One INSERT for all rows; the generated ids come back in row order and are set on the scores.
+     */
+    private void insertRows(List<Score> scores) {
+        LocalDateTime now = LocalDateTime.now();
+        StringBuilder sql = new StringBuilder(INSERT);
+        for (int i = 0; i < scores.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(rowValues());
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(), new String[]{"score_id"});
+            int parameter = 1;
+            for (Score score : scores) {
+                score.setCompletedAt(now);
+                statement.setObject(parameter++, score.getAssessmentId());
+                statement.setObject(parameter++, score.getCandidateId());
+                statement.setString(parameter++, score.getScore());
+                statement.setObject(parameter++, score.getScoreValue());
+                statement.setString(parameter++, score.getGameType());
+                statement.setObject(parameter++, score.getTimeSpentSeconds());
+                statement.setObject(parameter++, score.getAttempts());
+                statement.setObject(parameter++, score.getAccuracy());
+                statement.setString(parameter++, score.getFeedback());
+                statement.setObject(parameter++, score.getCompletedAt());
+                statement.setString(parameter++, score.getGameData());
+            }
+            return statement;
+        }, keys);
+        List<Map<String, Object>> ids = keys.getKeyList();
+        for (int i = 0; i < scores.size(); i++) {
+            scores.get(i).setScoreId(((Number) ids.get(i).values().iterator().next()).intValue());
+        }
+    }
+
+    /** Placeholders for one row; game_data needs a cast from text that depends on the database. */
+    private String rowValues() {
+        if (rowValues == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            String json = switch (product) {
+                case "PostgreSQL" -> "cast(? as jsonb)";
+                case "H2" -> "? format json";
+                default -> "?";
+            };
+            rowValues = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, " + json + ")";
+        }
+        return rowValues;
+    }
+}
@@ -1,25 +1,120 @@
 package com.example.gameimpl.service;
 
+import com.example.gameimpl.cache.UserCache;
+import com.example.gameimpl.dto.CursorPage;
+import com.example.gameimpl.dto.UserSummary;
 import com.example.gameimpl.model.User;
 import com.example.gameimpl.model.UserRole;
+import com.example.gameimpl.repository.StoredReportRepository;
 import com.example.gameimpl.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService {
+
+    private static final Pattern BCRYPT = Pattern.compile("\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern LIKE_SPECIAL = Pattern.compile("[\\\\%_]");
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private StoredReportRepository storedReportRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.users.search.min-length:3}")
+    private int searchMinLength;
+
+    @Value("${app.users.search.default-limit:10}")
+    private int searchDefaultLimit;
+
+    @Value("${app.users.search.max-limit:50}")
+    private int searchMaxLimit;
+
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    public CursorPage<User> getUsers(Integer after, Integer limit) {
+        int size = CursorPage.limit(limit);
+        List<User> rows = userRepository.findByIdGreaterThanOrderByIdAsc(CursorPage.after(after), Limit.of(size + 1));
+        return CursorPage.of(rows, size, User::getId);
+    }
+
+    public CursorPage<User> getUsersByRole(UserRole role, Integer after, Integer limit) {
+        int size = CursorPage.limit(limit);
+        List<User> rows = userRepository.findByRoleAndIdGreaterThanOrderByIdAsc(
+                role, CursorPage.after(after), Limit.of(size + 1));
+        return CursorPage.of(rows, size, User::getId);
+    }
+
+    /**
+     * @param role only users with this role, or all users when {@code null}
+     */
+    public CursorPage<UserSummary> getUserSummaries(UserRole role, Integer after, Integer limit) {
+        int size = CursorPage.limit(limit);
+        List<UserSummary> rows = userRepository.findSummaries(role, CursorPage.after(after), Limit.of(size + 1));
+        return CursorPage.of(rows, size, UserSummary::id);
+    }
+
+    /**
+     * Typeahead over the candidates of a company: those with a name or email containing
+     * {@code query} (case-insensitive), prefix matches first. Queries shorter than
+     * {@code app.users.search.min-length} match nothing.
+     */
+    @Transactional(readOnly = true)
+    public List<UserSummary> searchCandidates(Integer companyId, String query, Integer limit) {
+        String text = query == null ? "" : WHITESPACE.matcher(query.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        if (text.length() < searchMinLength) {
+            return List.of();
+        }
+        int size = limit == null || limit < 1 ? searchDefaultLimit : Math.min(limit, searchMaxLimit);
+        String literal = LIKE_SPECIAL.matcher(text).replaceAll("\\\\$0");
+        List<Integer> ids = userRepository.searchCandidateIds(companyId, "%" + literal + "%", literal + "%", size);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, UserSummary> byId = userRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(UserSummary::id, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /** Every user in id order, read through {@link DetachingStreams}. */
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<User> consumer) {
+        DetachingStreams.forEach(entityManager, userRepository.streamAll(), consumer);
+    }
+
     public Optional<User> getUserById(Integer id) {
-        return userRepository.findById(id);
+        return userCache.getById(id);
     }
 
     public Optional<User> getUserByEmail(String email) {
@@ -30,19 +125,87 @@ public class UserService {
         return userRepository.findByRole(role);
     }
 
+    public Map<String, Long> getCacheStats() {
+        return userCache.getStats();
+    }
+
+    /**
+     * Stores a new user with the password hashed. The password always comes from a request, so it
+     * is hashed even when it looks like a bcrypt hash already.
+     */
     public User saveUser(User user) {
-        return userRepository.save(user);
+        if (user.getPassword() != null) {
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
+        }
+        try {
+            return userRepository.save(user);
+        } finally {
+            if (user.getId() != null) {
+                userCache.invalidate(user.getId());
+            }
+        }
+    }
+
+    /**
+     * Updates a user's name, email and, when one is given, password (hashed like
+     * {@link #saveUser}). Role and company are not taken from {@code changes}: they decide what a
+     * session token may see.
+     *
+     * @return the updated user, or empty when there is none with {@code id}
+     */
+    @Transactional
+    public Optional<User> updateUser(Integer id, User changes) {
+        Optional<User> user = userRepository.findById(id);
+        user.ifPresent(existing -> {
+            existing.setFirstName(changes.getFirstName());
+            existing.setLastName(changes.getLastName());
+            existing.setEmail(changes.getEmail());
+            if (changes.getPassword() != null) {
+                existing.setPassword(passwordEncoder.encode(changes.getPassword()));
+            }
+            userRepository.saveAndFlush(existing);
+            userCache.invalidate(id);
+        });
+        return user;
     }
 
+    /** Copies a candidate's name and email into the reports on their scores first, which read them from here. */
+    @Transactional
     public void deleteUser(Integer id) {
-        userRepository.deleteById(id);
+        try {
+            storedReportRepository.copyCandidateIntoReports(id);
+            userRepository.deleteById(id);
+        } finally {
+            userCache.invalidate(id);
+        }
     }
 
-    public User login(String email, String password) {
+    /**
+     * Accounts created before passwords were hashed still hold plain text; they are accepted
+     * once more and rehashed, as are hashes below the configured bcrypt strength.
+     */
+    @Transactional
+    public Optional<User> login(String email, String password) {
         Optional<User> user = userRepository.findByEmail(email);
-        if (user.isPresent() && user.get().getPassword().equals(password)) {
-            return user.get();
+        if (user.isEmpty() || password == null) {
+            return Optional.empty();
         }
-        return null;
+        String stored = user.get().getPassword();
+        boolean hashed = isHashed(stored);
+        boolean matches = hashed
+                ? passwordEncoder.matches(password, stored)
+                : MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8), password.getBytes(StandardCharsets.UTF_8));
+        if (!matches) {
+            return Optional.empty();
+        }
+        if (!hashed || passwordEncoder.upgradeEncoding(stored)) {
+            user.get().setPassword(passwordEncoder.encode(password));
+            userCache.invalidate(user.get().getId());
+        }
+        return user;
+    }
+
+    private static boolean isHashed(String password) {
+        return BCRYPT.matcher(password).matches();
     }
 }
@@ -0,0 +1,47 @@
+package com.example.gameimpl.telemetry;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CodeBreakerTelemetry(
+        Boolean won,
+        Integer attempts,
+        Integer maxAttempts,
+        String timeSpent,
+        List<Integer> secretCode,
+        List<Guess> guessHistory,
+        ProblemSolvingMetrics problemSolvingMetrics
+) implements GameTelemetry {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Guess(List<Integer> digits, List<String> feedback) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ProblemSolvingMetrics(Integer totalAttempts, Integer timeSpent, Double strategicThinking,
+                                        Double logicalReasoning, Double persistence) {
+    }
+
+    @Override
+    public Integer attemptCount() {
+        return attempts;
+    }
+
+    @Override
+    public Double accuracyPercent() {
+        if (guessHistory == null || guessHistory.isEmpty()) {
+            return null;
+        }
+        long slots = 0;
+        long correct = 0;
+        for (Guess guess : guessHistory) {
+            if (guess.feedback() != null) {
+                slots += guess.feedback().size();
+                correct += guess.feedback().stream().filter("correct"::equals).count();
+            }
+        }
+        return slots == 0 ? null : correct * 100.0 / slots;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.gameimpl.telemetry;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+import java.util.Map;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CriticalThinkingTelemetry(
+        Integer correctAnswers,
+        Integer totalQuestions,
+        String timeSpent,
+        Map<String, Integer> categories,
+        List<Integer> answers,
+        Map<String, Double> criticalThinkingMetrics,
+        Double averageTimePerQuestion
+) implements GameTelemetry {
+
+    @Override
+    public Integer attemptCount() {
+        return totalQuestions;
+    }
+
+    @Override
+    public Double accuracyPercent() {
+        if (correctAnswers == null || totalQuestions == null || totalQuestions == 0) {
+            return null;
+        }
+        return correctAnswers * 100.0 / totalQuestions;
+    }
+}
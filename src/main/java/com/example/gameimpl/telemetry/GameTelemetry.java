@@ -0,0 +1,38 @@
+package com.example.gameimpl.telemetry;
+
+/**
+ * Typed view of {@code Score.gameData} for one game type. Only built on request; the numeric
+ * metrics that analytics filter on are copied into columns of {@code score} when it is saved.
+ */
+public sealed interface GameTelemetry permits CodeBreakerTelemetry, CriticalThinkingTelemetry, MemoryFocusTelemetry {
+
+    /** Time spent as sent by the game, formatted {@code m:ss}. */
+    String timeSpent();
+
+    Integer attemptCount();
+
+    /** Share of correct moves or answers, 0-100. */
+    Double accuracyPercent();
+
+    default Integer timeSpentSeconds() {
+        return parseDuration(timeSpent());
+    }
+
+    static Integer parseDuration(String minutesSeconds) {
+        if (minutesSeconds == null) {
+            return null;
+        }
+        String[] parts = minutesSeconds.trim().split(":");
+        try {
+            if (parts.length == 1) {
+                return Integer.parseInt(parts[0]);
+            }
+            if (parts.length == 2) {
+                return Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.gameimpl.telemetry;
+
+import com.example.gameimpl.model.Score;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Maps the {@code gameData} JSON of each game type to its {@link GameTelemetry} record and copies
+ * the numeric metrics into the queryable columns of {@link Score}.
+ */
+@Component
+public class GameTelemetryParser {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public Optional<GameTelemetry> parse(String gameType, String gameData) {
+        Class<? extends GameTelemetry> schema = schemaFor(gameType);
+        if (schema == null || gameData == null || gameData.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(gameData, schema));
+        } catch (JsonProcessingException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Fills the metric columns of {@code score} from its score text and game data. Game data that is
+     * not valid JSON is stored as a JSON string so the column always holds a JSON document.
+     */
+    public void applyMetrics(Score score) {
+        score.setScoreValue(parseScore(score.getScore()));
+        if (score.getGameData() != null && score.getGameData().isBlank()) {
+            score.setGameData(null);
+        } else if (score.getGameData() != null && !isJson(score.getGameData())) {
+            try {
+                score.setGameData(objectMapper.writeValueAsString(score.getGameData()));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        parse(score.getGameType(), score.getGameData()).ifPresent(telemetry -> {
+            score.setTimeSpentSeconds(telemetry.timeSpentSeconds());
+            score.setAttempts(telemetry.attemptCount());
+            score.setAccuracy(telemetry.accuracyPercent());
+        });
+    }
+
+    private boolean isJson(String value) {
+        try {
+            JsonNode node = objectMapper.readTree(value);
+            return node != null && !node.isMissingNode();
+        } catch (JsonProcessingException e) {
+            return false;
+        }
+    }
+
+    private static Integer parseScore(String score) {
+        if (score == null) {
+            return null;
+        }
+        try {
+            return (int) Math.round(Double.parseDouble(score.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Class<? extends GameTelemetry> schemaFor(String gameType) {
+        if (gameType == null) {
+            return null;
+        }
+        return switch (gameType) {
+            case "CODE_BREAKER" -> CodeBreakerTelemetry.class;
+            case "CRITICAL_THINKING" -> CriticalThinkingTelemetry.class;
+            case "MEMORY_FOCUS" -> MemoryFocusTelemetry.class;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.gameimpl.telemetry;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.Map;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record MemoryFocusTelemetry(
+        Integer matches,
+        Integer attempts,
+        String timeSpent,
+        Double accuracy,
+        Double avgResponseTime,
+        Map<String, Double> memoryFocusMetrics
+) implements GameTelemetry {
+
+    @Override
+    public Integer attemptCount() {
+        return attempts;
+    }
+
+    @Override
+    public Double accuracyPercent() {
+        return accuracy;
+    }
+}
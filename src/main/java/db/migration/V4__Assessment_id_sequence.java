@@ -0,0 +1,34 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Creates the pooled sequence behind {@code Assessment.id} so Hibernate can batch assessment
+ * inserts. The sequence has to start past the ids already issued by the identity column, which
+ * is why this migration is Java rather than SQL.
+ */
+public class V4__Assessment_id_sequence extends BaseJavaMigration {
+
+    /** Must match {@code allocationSize} on {@code Assessment.id}. */
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        long maxId;
+        try (Statement statement = context.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery("select coalesce(max(id), 0) from assessment")) {
+            resultSet.next();
+            maxId = resultSet.getLong(1);
+        }
+        // Hibernate's pooled optimizer hands out (value - ALLOCATION_SIZE, value], so the first value must
+        // be at least maxId + ALLOCATION_SIZE + 1 to stay clear of existing rows.
+        long start = maxId + ALLOCATION_SIZE + 1;
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("create sequence assessment_seq start with " + start + " increment by " + ALLOCATION_SIZE);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+-- Reports become a reference to their score: the candidate's name and email and the score are
+-- read from users and score when a report is loaded (see Report), and the report text is kept in
+-- the report only instead of also in its processed outbox entry. Freed space is reused by new
+-- rows after (auto)vacuum; VACUUM FULL report, report_outbox returns it to the OS on PostgreSQL.
+
+-- Duplicate reports of one score, left by clients that created reports directly: the first one
+-- stays and takes over the text of a later one if it has none, the others are removed.
+update report r
+set feedback = (select d.feedback
+                from report d
+                where d.score_id = r.score_id
+                  and d.feedback is not null
+                order by d.report_id
+                fetch first 1 row only)
+where r.feedback is null
+  and r.score_id is not null
+  and not exists (select 1 from report e where e.score_id = r.score_id and e.report_id < r.report_id);
+
+delete from report r
+where r.score_id is not null
+  and exists (select 1 from report d where d.score_id = r.score_id and d.report_id < r.report_id);
+
+-- One report per score from now on; replaces the plain index used by ReportRepository.existsByScoreId
+drop index if exists idx_report_score;
+create unique index uk_report_score on report (score_id);
+
+-- Copies of users and score data; only kept where what they copy no longer exists. The score is
+-- read from the score row, name and email from the score's candidate, so a report of a deleted
+-- candidate keeps them.
+update report r
+set score = null
+where r.score is not null
+  and exists (select 1 from score s where s.score_id = r.score_id);
+
+update report r
+set fullname = null,
+    email    = null
+where (r.fullname is not null or r.email is not null)
+  and exists (select 1 from score s join users u on u.id = s.candidate_id where s.score_id = r.score_id);
+
+-- Processed outbox entries no longer carry the report text
+update report_outbox
+set feedback = null
+where status = 'DONE'
+  and feedback is not null;
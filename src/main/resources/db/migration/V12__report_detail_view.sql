@@ -0,0 +1,17 @@
+-- Read side of report (see Report): the candidate's name and email and the score are joined in
+-- once per query, where the entity used to run one correlated subquery per column and row. A copy
+-- stored in report wins; copies only exist where the score or the candidate was deleted (see V11).
+-- Reports are written to the report table itself (see StoredReport).
+create view report_detail as
+select r.report_id,
+       r.user_id,
+       r.score_id,
+       coalesce(r.fullname, u.first_name || ' ' || u.last_name) as fullname,
+       coalesce(r.email, u.email)                                as email,
+       coalesce(r.score, s.score)                                as score,
+       r.skill_type,
+       r.feedback,
+       r.created_at
+from report r
+         left join score s on s.score_id = r.score_id
+         left join users u on u.id = s.candidate_id;
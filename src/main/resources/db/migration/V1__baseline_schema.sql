@@ -0,0 +1,69 @@
+-- Schema as previously generated by spring.jpa.hibernate.ddl-auto=update.
+-- Written with IF NOT EXISTS so databases created by Hibernate can be brought under Flyway as-is.
+
+create table if not exists company (
+    id             integer generated by default as identity primary key,
+    company_name   varchar(255) not null,
+    company_number varchar(255) not null unique
+);
+
+create table if not exists users (
+    id         integer generated by default as identity primary key,
+    first_name varchar(255) not null,
+    last_name  varchar(255) not null,
+    role       varchar(255) not null check (role in ('RECRUITER', 'CANDIDATE')),
+    email      varchar(255) not null unique,
+    password   varchar(255) not null,
+    company_id integer references company (id)
+);
+
+create table if not exists game (
+    id               integer generated by default as identity primary key,
+    game_name        varchar(255) not null,
+    game_description varchar(255) not null,
+    skill_name       varchar(255) not null,
+    game_url         varchar(255) not null,
+    game_image       varchar(255) not null,
+    active           boolean default true not null,
+    game_type        varchar(255) not null
+);
+
+create table if not exists assessment (
+    id           integer generated by default as identity primary key,
+    hr_id        integer,
+    candidate_id integer,
+    game_id      integer,
+    company_id   integer,
+    status       varchar(255),
+    created_at   timestamp(6),
+    updated_at   timestamp(6),
+    due_date     timestamp(6)
+);
+
+create table if not exists score (
+    score_id      integer generated by default as identity primary key,
+    assessment_id integer,
+    candidate_id  integer,
+    score         varchar(255),
+    feedback      text,
+    completed_at  timestamp(6),
+    game_data     text
+);
+
+create table if not exists report (
+    report_id  integer generated by default as identity primary key,
+    user_id    integer,
+    score_id   integer,
+    fullname   varchar(255),
+    email      varchar(255),
+    score      varchar(255),
+    skill_type varchar(255),
+    feedback   text,
+    created_at timestamp(6)
+);
+
+create table if not exists review (
+    review_id integer generated by default as identity primary key,
+    user_id   integer,
+    message   varchar(255)
+);
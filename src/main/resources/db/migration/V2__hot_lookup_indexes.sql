@@ -0,0 +1,28 @@
+-- Indexes for the repository lookups; each is named after the access pattern it serves.
+
+-- Candidate dashboard and AssessmentRepository.findByCandidateId
+create index if not exists idx_assessment_candidate_status on assessment (candidate_id, status);
+
+-- Recruiter views: AssessmentRepository.findByHrId, newest first
+create index if not exists idx_assessment_hr_created on assessment (hr_id, created_at);
+
+-- AssessmentRepository.findByStatus and overdue scans
+create index if not exists idx_assessment_status_due on assessment (status, due_date);
+
+-- ScoreRepository.findByAssessmentId
+create index if not exists idx_score_assessment on score (assessment_id);
+
+-- ScoreRepository.findByCandidateId
+create index if not exists idx_score_candidate on score (candidate_id);
+
+-- ReportRepository.findByUserId, newest first
+create index if not exists idx_report_user_created on report (user_id, created_at);
+
+-- ReviewRepository.findByUserId
+create index if not exists idx_review_user on review (user_id);
+
+-- UserRepository.findByRole, keyset paged on id
+create index if not exists idx_users_role_id on users (role, id);
+
+-- User.company lookups and the Company.recruiters collection
+create index if not exists idx_users_company on users (company_id);
@@ -0,0 +1,8 @@
+-- Assessment.status is now the AssessmentStatus enum; normalise free-form values before constraining.
+
+update assessment set status = upper(trim(status)) where status is not null;
+update assessment set status = 'PENDING' where status is null or status not in ('PENDING', 'COMPLETED', 'EXPIRED');
+
+alter table assessment alter column status set not null;
+alter table assessment add constraint ck_assessment_status check (status in ('PENDING', 'COMPLETED', 'EXPIRED'));
+
@@ -0,0 +1,9 @@
+-- Numeric metrics copied out of score.game_data on save, so analytics can filter and aggregate in SQL.
+
+alter table score add column score_value integer;
+alter table score add column game_type varchar(255);
+alter table score add column time_spent_seconds integer;
+alter table score add column attempts integer;
+alter table score add column accuracy double precision;
+
+create index if not exists idx_score_game_type_value on score (game_type, score_value);
@@ -0,0 +1,8 @@
+-- Covering indexes for the recruiter and company analytics, so the status counts and the
+-- assessment side of the per-skill aggregates are answered without reading the table rows.
+
+-- AssessmentRepository.countStatusesByHrId / summarizeSkillsByHrId
+create index if not exists idx_assessment_hr_status on assessment (hr_id, status, game_id, created_at);
+
+-- AssessmentRepository.countStatusesByCompanyId / summarizeSkillsByCompanyId
+create index if not exists idx_assessment_company_status on assessment (company_id, status, game_id, created_at);
@@ -0,0 +1,23 @@
+-- Transactional outbox for recruiter reports: assessment completion inserts one row in its own
+-- transaction and ReportOutboxWorker turns pending rows into report rows in the background.
+
+create table report_outbox (
+    id           bigint generated by default as identity primary key,
+    score_id     integer      not null unique,
+    hr_id        integer,
+    candidate_id integer,
+    skill_type   varchar(255),
+    feedback     text,
+    status       varchar(16)  not null check (status in ('PENDING', 'DONE', 'FAILED')),
+    attempts     integer      not null,
+    last_error   varchar(1000),
+    created_at   timestamp(6) not null,
+    available_at timestamp(6) not null,
+    processed_at timestamp(6)
+);
+
+-- ReportOutboxRepository.claimBatch: oldest due PENDING rows first
+create index idx_report_outbox_status_available on report_outbox (status, available_at, id);
+
+-- ReportRepository.existsByScoreId, the worker's idempotency check
+create index if not exists idx_report_score on report (score_id);
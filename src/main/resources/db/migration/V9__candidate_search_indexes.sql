@@ -0,0 +1,3 @@
+-- Candidate search (UserRepository.searchCandidateIds): a recruiter's company is joined to its
+-- candidates through their assessments, so the company's candidate ids are read from the index alone.
+create index if not exists idx_assessment_company_candidate on assessment (company_id, candidate_id);
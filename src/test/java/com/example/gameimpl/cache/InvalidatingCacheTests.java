@@ -0,0 +1,71 @@
+package com.example.gameimpl.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+/**
+ * Checks the cache behind the lookup caches without a database: loads are counted to tell hits
+ * from misses.
+ */
+class InvalidatingCacheTests {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedPastTheLimit() {
+        InvalidatingCache<Integer, String> cache = new InvalidatingCache<>(2, value -> value);
+        get(cache, 1);
+        get(cache, 2);
+        get(cache, 1);
+        get(cache, 3);
+        assertEquals(3, loads.get());
+
+        get(cache, 1);
+        assertEquals(3, loads.get());
+        get(cache, 2);
+        assertEquals(4, loads.get());
+        assertEquals(2L, cache.getStats().get("size"));
+    }
+
+    @Test
+    void callersGetCopies() {
+        InvalidatingCache<Integer, List<String>> cache = new InvalidatingCache<>(10, ArrayList::new);
+        List<String> first = cache.get(1, key -> Optional.of(List.of("a"))).orElseThrow();
+        first.add("changed");
+        List<String> second = cache.get(1, key -> Optional.of(List.of("b"))).orElseThrow();
+        assertEquals(List.of("a"), second);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void loadThatRacedWithAnInvalidationIsNotKept() {
+        InvalidatingCache<Integer, String> cache = new InvalidatingCache<>(10, value -> value);
+        cache.get(1, key -> {
+            cache.invalidate(key);
+            return Optional.of("stale");
+        });
+        assertEquals("fresh", cache.get(1, key -> Optional.of("fresh")).orElseThrow());
+    }
+
+    @Test
+    void absentResultsAreNotCached() {
+        InvalidatingCache<Integer, String> cache = new InvalidatingCache<>(10, value -> value);
+        cache.get(1, key -> Optional.empty());
+        assertEquals("found", cache.get(1, key -> Optional.of("found")).orElseThrow());
+        assertEquals(2L, cache.getStats().get("misses"));
+    }
+
+    private void get(InvalidatingCache<Integer, String> cache, int key) {
+        cache.get(key, k -> {
+            loads.incrementAndGet();
+            return Optional.of("value " + k);
+        });
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.gameimpl.cache;
+
+import com.example.gameimpl.dto.LeaderboardEntry;
+import com.example.gameimpl.model.Score;
+import com.example.gameimpl.service.ScoreService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Commits a score on another thread while the leaderboard reads its top from the database, and
+ * checks that the score is ranked once the read is done.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:leaderboard;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.reports.outbox.enabled=false",
+        "app.assessments.expiry.enabled=false",
+        "app.leaderboard.top-k=3",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.gameimpl.cache.ScoreLeaderboardTests$DuringTopRead"
+})
+class ScoreLeaderboardTests {
+
+    private static final AtomicInteger ASSESSMENTS = new AtomicInteger();
+
+    @Autowired
+    private ScoreLeaderboard scoreLeaderboard;
+
+    @Autowired
+    private ScoreService scoreService;
+
+    @Test
+    void scoreCommittedDuringRebuildIsInTheRebuiltTop() throws Exception {
+        save("REBUILD_GAME", 40);
+        save("REBUILD_GAME", 50);
+
+        Score late = whileReadingTheTop(() -> save("REBUILD_GAME", 90), scoreLeaderboard::rebuild);
+
+        assertEquals(late.getScoreId(), scoreLeaderboard.getTop("REBUILD_GAME", 3).get(0).scoreId());
+        assertEquals(3L, scoreLeaderboard.getStats().get("REBUILD_GAME").longValue());
+    }
+
+    @Test
+    void scoreCommittedWhileTheTopIsReadAgainIsKept() throws Exception {
+        save("REFILL_GAME", 10);
+        save("REFILL_GAME", 20);
+        Score third = save("REFILL_GAME", 30);
+        Score second = save("REFILL_GAME", 40);
+        Score best = save("REFILL_GAME", 50);
+        // the top holds three entries, so the two below have to be read again
+        scoreService.deleteScore(best.getScoreId());
+
+        Score late = whileReadingTheTop(() -> save("REFILL_GAME", 95), () -> scoreLeaderboard.getTop("REFILL_GAME", 3));
+
+        assertEquals(List.of(late.getScoreId(), second.getScoreId(), third.getScoreId()),
+                scoreLeaderboard.getTop("REFILL_GAME", 3).stream().map(LeaderboardEntry::scoreId).toList());
+    }
+
+    /** Runs {@code read}; when it sends the top query, {@code write} commits on another thread first. */
+    private Score whileReadingTheTop(Callable<Score> write, Runnable read) throws Exception {
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        CompletableFuture<Score> written = new CompletableFuture<>();
+        DuringTopRead.hook = () -> {
+            try {
+                written.complete(writer.submit(write).get(10, TimeUnit.SECONDS));
+            } catch (Exception e) {
+                written.completeExceptionally(e);
+            }
+        };
+        try {
+            read.run();
+            assertTrue(written.isDone(), "the top was not read from the database");
+            return written.get();
+        } finally {
+            DuringTopRead.hook = null;
+            writer.shutdownNow();
+        }
+    }
+
+    private Score save(String gameType, int value) {
+        return scoreService.saveScore(new Score(null, ASSESSMENTS.incrementAndGet(), 1, String.valueOf(value), value,
+                gameType, 60, 3, 0.5, null, null, null));
+    }
+
+    /** Runs the hook, once, just before the top query goes out; registered through the property above. */
+    public static class DuringTopRead implements StatementInspector {
+        static volatile Runnable hook;
+
+        @Override
+        public String inspect(String sql) {
+            Runnable run = hook;
+            if (run != null && sql.contains("score_value desc")) {
+                hook = null;
+                run.run();
+            }
+            return sql;
+        }
+    }
+}
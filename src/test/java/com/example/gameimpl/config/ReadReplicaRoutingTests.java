@@ -0,0 +1,181 @@
+package com.example.gameimpl.config;
+
+import com.example.gameimpl.auth.SessionTokens;
+import com.example.gameimpl.dto.ReportSummary;
+import com.example.gameimpl.model.Report;
+import com.example.gameimpl.model.User;
+import com.example.gameimpl.model.UserRole;
+import com.example.gameimpl.repository.ReportRepository;
+import com.example.gameimpl.service.ReportService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application against two in-memory H2 databases, a primary and a "replica" that is not
+ * replicated at all: rows inserted only into the replica show which database served a read, and
+ * rows written to the primary only stand for writes a lagging replica has not received yet.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.datasource.replicas.urls=" + ReadReplicaRoutingTests.REPLICA_URL,
+        "app.datasource.replicas.lag-query=select lag_ms from replica_status",
+        "app.datasource.replicas.check-interval-ms=3600000",
+        "app.reports.outbox.enabled=false",
+        "app.assessments.expiry.enabled=false"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final int REPLICA_READ_USER = 900;
+    private static final int READ_YOUR_WRITES_USER = 901;
+    private static final int LAGGING_USER = 902;
+    private static final int CONDITIONAL_USER = 903;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private ReadReplicaConfig readReplicaConfig;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionTokens sessionTokens;
+
+    @BeforeAll
+    static void migrateReplica() throws SQLException {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration", "classpath:db/vendor/h2").load().migrate();
+        replica("create table replica_status (lag_ms bigint)",
+                "insert into replica_status values (0)",
+                replicaReport(1001, REPLICA_READ_USER),
+                replicaReport(1002, READ_YOUR_WRITES_USER),
+                replicaReport(1003, LAGGING_USER));
+    }
+
+    @AfterEach
+    void resetRequestAndLag() throws SQLException {
+        RequestContextHolder.resetRequestAttributes();
+        replica("update replica_status set lag_ms = 0");
+        readReplicaConfig.checkReplicas();
+    }
+
+    @Test
+    void readOnlyServiceMethodsReadFromReplica() {
+        assertEquals(List.of(1001), reportIds(reportService.getReportSummariesByUserId(REPLICA_READ_USER)));
+        // Spring Data's own read-only transactions are not routed
+        assertTrue(reportRepository.findByUserId(REPLICA_READ_USER).isEmpty());
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromPrimary() {
+        request("10.0.0.1");
+        Report written = reportService.saveReport(new Report(null, READ_YOUR_WRITES_USER, 2001, "Candidate", "c@routing.example",
+                "50", "CODE_BREAKER", "ok", null));
+
+        assertEquals(List.of(written.getReportId()), reportIds(reportService.getReportSummariesByUserId(READ_YOUR_WRITES_USER)));
+
+        request("10.0.0.2");
+        assertEquals(List.of(1002), reportIds(reportService.getReportSummariesByUserId(READ_YOUR_WRITES_USER)));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() throws SQLException {
+        replica("update replica_status set lag_ms = 60000");
+        readReplicaConfig.checkReplicas();
+
+        assertTrue(reportService.getReportSummariesByUserId(LAGGING_USER).isEmpty());
+
+        replica("update replica_status set lag_ms = 0");
+        readReplicaConfig.checkReplicas();
+
+        assertEquals(List.of(1003), reportIds(reportService.getReportSummariesByUserId(LAGGING_USER)));
+    }
+
+    @Test
+    void conditionalGetsReadTheBodyFromPrimary() throws Exception {
+        // The replica is lagging but within max-lag-ms, so it stays in rotation
+        replica("update replica_status set lag_ms = 500");
+        readReplicaConfig.checkReplicas();
+        // Written outside any request, so no client is kept on the primary for its own writes
+        Report written = reportService.saveReport(new Report(null, CONDITIONAL_USER, 2003, null, null,
+                null, "CODE_BREAKER", "ok", null));
+
+        // The recruiter's token is only signed, so the user does not have to exist
+        String token = "Bearer " + sessionTokens.issue(new User(CONDITIONAL_USER, "Conditional", "Recruiter",
+                UserRole.RECRUITER, "conditional@routing.example", "secret", null)).token();
+        MockHttpServletResponse first = mockMvc.perform(get("/api/reports/user/" + CONDITIONAL_USER)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .with(request -> remote(request, "10.0.0.3")))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        assertTrue(first.getContentAsString().contains("\"reportId\":" + written.getReportId()),
+                "body read from the replica: " + first.getContentAsString());
+        mockMvc.perform(get("/api/reports/user/" + CONDITIONAL_USER).header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .with(request -> remote(request, "10.0.0.4")))
+                .andExpect(status().isNotModified());
+    }
+
+    private static MockHttpServletRequest remote(MockHttpServletRequest request, String remoteAddress) {
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    private static void request(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static List<Integer> reportIds(List<ReportSummary> reports) {
+        return reports.stream().map(ReportSummary::reportId).toList();
+    }
+
+    private static String replicaReport(int reportId, int userId) {
+        return "insert into report (report_id, user_id, score_id, fullname, email, score, skill_type, feedback, created_at) "
+                + "values (" + reportId + ", " + userId + ", " + reportId + ", 'Replica', 'r@routing.example', '50', "
+                + "'CODE_BREAKER', 'replica', current_timestamp)";
+    }
+
+    private static void replica(String... statements) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.gameimpl.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Writes CSV exports to memory and checks that text a spreadsheet would run as a formula is
+ * written as plain text, while numbers and ordinary text are left as they are.
+ */
+class ExportStreamsTests {
+
+    private record Row(String text, Integer number) {
+    }
+
+    @Test
+    void formulaCellsArePrefixed() throws IOException {
+        assertEquals("text,number\r\n"
+                        + "\"'=HYPERLINK(\"\"http://x\"\")\",1\r\n"
+                        + "'+1+2,2\r\n"
+                        + "'-3,3\r\n"
+                        + "'@SUM(A1),4\r\n"
+                        + "'\tTab,5\r\n"
+                        + "\"'\rReturn\",6\r\n",
+                csv(List.of(
+                        new Row("=HYPERLINK(\"http://x\")", 1),
+                        new Row("+1+2", 2),
+                        new Row("-3", 3),
+                        new Row("@SUM(A1)", 4),
+                        new Row("\tTab", 5),
+                        new Row("\rReturn", 6))));
+    }
+
+    @Test
+    void numbersAndPlainTextAreUnchanged() throws IOException {
+        assertEquals("text,number\r\n"
+                        + "Jane Doe,-5\r\n"
+                        + "\"a, b = c\",0\r\n"
+                        + ",\r\n",
+                csv(List.of(
+                        new Row("Jane Doe", -5),
+                        new Row("a, b = c", 0),
+                        new Row(null, null))));
+    }
+
+    private static String csv(List<Row> rows) throws IOException {
+        ExportStreams.Columns<Row> columns = new ExportStreams.Columns<Row>()
+                .add("text", Row::text)
+                .add("number", Row::number);
+        StreamingResponseBody body = ExportStreams.export("rows", ExportStreams.Format.CSV, false, new ObjectMapper(),
+                columns, rows::forEach).getBody();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
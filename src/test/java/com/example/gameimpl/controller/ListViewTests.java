@@ -0,0 +1,301 @@
+package com.example.gameimpl.controller;
+
+import com.example.gameimpl.auth.SessionTokens;
+import com.example.gameimpl.dto.CursorPage;
+import com.example.gameimpl.model.Assessment;
+import com.example.gameimpl.model.AssessmentStatus;
+import com.example.gameimpl.model.Company;
+import com.example.gameimpl.model.Score;
+import com.example.gameimpl.model.StoredReport;
+import com.example.gameimpl.model.User;
+import com.example.gameimpl.model.UserRole;
+import com.example.gameimpl.repository.AssessmentRepository;
+import com.example.gameimpl.repository.CompanyRepository;
+import com.example.gameimpl.repository.ScoreRepository;
+import com.example.gameimpl.repository.StoredReportRepository;
+import com.example.gameimpl.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the list endpoints against an in-memory H2 database and checks, per endpoint, how many
+ * statements a request prepares and how large the summary view is next to the detail view.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:list_views;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.reports.outbox.enabled=false",
+        "app.assessments.expiry.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.gameimpl.controller.ListViewTests$Statements"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListViewTests {
+
+    private static final int RECRUITERS = 10;
+    private static final int ROWS = 20;
+    private static final String LARGE_TEXT = "x".repeat(4000);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Autowired
+    private StoredReportRepository storedReportRepository;
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private SessionTokens sessionTokens;
+
+    private Statistics statistics;
+    private User firstRecruiter;
+    private User candidate;
+    private Integer recruiterId;
+    private Integer candidateId;
+
+    @BeforeAll
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Company company = companyRepository.save(new Company(null, "List Views Ltd", "LIST-1", new ArrayList<>()));
+        for (int i = 0; i < RECRUITERS; i++) {
+            User recruiter = userRepository.save(new User(null, "Recruiter", "No" + i, UserRole.RECRUITER,
+                    "recruiter" + i + "@list.example", "secret", company));
+            if (firstRecruiter == null) {
+                firstRecruiter = recruiter;
+            }
+        }
+        recruiterId = firstRecruiter.getId();
+        candidate = userRepository.save(new User(null, "Candidate", "One", UserRole.CANDIDATE,
+                "candidate@list.example", "secret", null));
+        candidateId = candidate.getId();
+        for (int i = 0; i < ROWS; i++) {
+            Score score = scoreRepository.save(new Score(null, i + 1, candidateId, "50", 50, "CODE_BREAKER", 60, 3, 0.5,
+                    LARGE_TEXT, null, "{\"notes\":\"" + LARGE_TEXT + "\"}"));
+            storedReportRepository.save(new StoredReport(null, recruiterId, score.getScoreId(), "CODE_BREAKER", LARGE_TEXT, null));
+        }
+    }
+
+    @Test
+    void candidateScoresDefaultToDetailAndSummariesLeaveOutFeedbackAndGameData() throws Exception {
+        String url = "/api/scores/candidate/" + candidateId;
+        String byDefault = fetch(as(candidate, get(url)), 1);
+        String summary = fetch(as(candidate, get(url + "?view=summary")), 1);
+        String detail = fetch(as(candidate, get(url + "?view=detail")), 1);
+
+        assertEquals(detail, byDefault);
+        assertTrue(byDefault.contains("\"feedback\":\"" + LARGE_TEXT));
+        assertTrue(byDefault.contains("gameData"));
+        assertFalse(summary.contains("feedback"));
+        assertFalse(summary.contains("gameData"));
+        assertSmaller(summary, detail);
+    }
+
+    @Test
+    void recruiterReportsDefaultToDetailAndSummariesLeaveOutFeedback() throws Exception {
+        String url = "/api/reports/user/" + recruiterId;
+        String byDefault = fetch(as(firstRecruiter, get(url)), 1);
+        String summary = fetch(as(firstRecruiter, get(url + "?view=summary")), 1);
+        String detail = fetch(as(firstRecruiter, get(url + "?view=detail")), 1);
+
+        assertEquals(detail, byDefault);
+        assertTrue(byDefault.contains("\"feedback\":\"" + LARGE_TEXT));
+        assertFalse(summary.contains("feedback"));
+        assertSmaller(summary, detail);
+        // Not stored with the report, read from the score's candidate
+        assertTrue(summary.contains("\"fullname\":\"Candidate One\""));
+        assertTrue(detail.contains("\"email\":\"candidate@list.example\""));
+    }
+
+    @Test
+    void reportsJoinCandidateAndScoreInsteadOfASubqueryPerColumn() throws Exception {
+        String reportId = "\"reportId\":";
+        String detail = fetch(as(firstRecruiter, get("/api/reports/user/" + recruiterId + "?view=detail")), 1);
+        assertReadWithoutSubqueries();
+        fetch(as(firstRecruiter, get("/api/reports/user/" + recruiterId + "?view=summary")), 1);
+        assertReadWithoutSubqueries();
+        int start = detail.indexOf(reportId) + reportId.length();
+        fetch("/api/reports/" + detail.substring(start, detail.indexOf(',', start)), 1);
+        assertReadWithoutSubqueries();
+    }
+
+    @Test
+    void renamingTheCandidateChangesTheReportETag() throws Exception {
+        User candidate = userRepository.save(new User(null, "Renamed", "Before", UserRole.CANDIDATE,
+                "renamed@list.example", "secret", null));
+        User recruiter = userRepository.save(new User(null, "Recruiter", "Etag", UserRole.RECRUITER,
+                "etag@list.example", "secret", null));
+        Score score = scoreRepository.save(new Score(null, ROWS + 1, candidate.getId(), "70", 70, "CODE_BREAKER", 60, 3, 0.5,
+                null, null, null));
+        storedReportRepository.save(new StoredReport(null, recruiter.getId(), score.getScoreId(), "CODE_BREAKER", "ok", null));
+        String url = "/api/reports/user/" + recruiter.getId();
+        String etag = mockMvc.perform(as(recruiter, get(url))).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        candidate.setLastName("After");
+        userRepository.save(candidate);
+
+        MockHttpServletResponse renamed = mockMvc.perform(as(recruiter, get(url)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        assertNotEquals(etag, renamed.getHeader(HttpHeaders.ETAG));
+        assertTrue(renamed.getContentAsString().contains("\"fullname\":\"Renamed After\""));
+    }
+
+    @Test
+    void listsWithoutACursorReturnTheFirstPage() throws Exception {
+        User paged = userRepository.save(new User(null, "Paged", "Candidate", UserRole.CANDIDATE,
+                "paged@list.example", "secret", null));
+        List<Assessment> assessments = new ArrayList<>();
+        for (int i = 0; i <= CursorPage.DEFAULT_LIMIT; i++) {
+            Assessment assessment = new Assessment();
+            assessment.setCandidateId(paged.getId());
+            assessment.setHrId(recruiterId);
+            assessment.setGameId(1);
+            assessment.setStatus(AssessmentStatus.PENDING);
+            assessments.add(assessment);
+        }
+        assessmentRepository.saveAll(assessments);
+        String url = "/api/assessments/candidate/" + paged.getId();
+
+        MockHttpServletResponse first = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn().getResponse();
+        assertEquals(CursorPage.DEFAULT_LIMIT, first.getContentAsString().split("\"candidateId\":").length - 1);
+        String cursor = first.getHeader(CursorResponses.NEXT_CURSOR);
+        MockHttpServletResponse last = mockMvc.perform(get(url).param("after", cursor))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        assertEquals(1, last.getContentAsString().split("\"candidateId\":").length - 1);
+        assertNull(last.getHeader(CursorResponses.NEXT_CURSOR));
+
+        MockHttpServletResponse reports = mockMvc.perform(as(firstRecruiter, get("/api/reports/user/" + recruiterId).param("limit", "5")))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        assertEquals(5, reports.getContentAsString().split("\"reportId\":").length - 1);
+        assertNotNull(reports.getHeader(CursorResponses.NEXT_CURSOR));
+    }
+
+    @Test
+    void userListsReadCompanyNumbersInOneQuery() throws Exception {
+        String summary = fetch("/api/users", 1);
+        String detail = fetch("/api/users?view=detail", 1);
+        String recruiters = fetch("/api/users/role/RECRUITER", 1);
+        String recruiterDetails = fetch("/api/users/role/RECRUITER?view=detail", 1);
+
+        assertTrue(summary.contains("\"companyNumber\":\"LIST-1\""));
+        assertTrue(detail.contains("\"companyNumber\":\"LIST-1\""));
+        for (String body : List.of(summary, detail, recruiters, recruiterDetails)) {
+            assertFalse(body.contains("password"));
+            assertBytesPerRow(body, "email", 200);
+        }
+    }
+
+    @Test
+    void companyDetailsLoadRecruitersWithoutOneQueryPerCompany() throws Exception {
+        String summary = fetch("/api/companies", 1);
+        String detail = fetch("/api/companies?view=detail", 2);
+
+        assertFalse(summary.contains("recruiters"));
+        assertBytesPerRow(summary, "companyName", 120);
+        for (int i = 0; i < RECRUITERS; i++) {
+            assertTrue(detail.contains("recruiter" + i + "@list.example"));
+        }
+        assertFalse(detail.contains("password"));
+        assertTrue(summary.length() < detail.length());
+    }
+
+    @Test
+    void unknownViewIsRejected() throws Exception {
+        mockMvc.perform(as(candidate, get("/api/scores/candidate/" + candidateId + "?view=everything")))
+                .andExpect(status().isBadRequest());
+    }
+
+    /** Performs the request and checks that it prepared at most {@code maxStatements} statements. */
+    private String fetch(String url, long maxStatements) throws Exception {
+        return fetch(get(url), maxStatements);
+    }
+
+    private String fetch(MockHttpServletRequestBuilder request, long maxStatements) throws Exception {
+        statistics.clear();
+        Statements.SQL.clear();
+        MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+        byte[] body = result.getResponse().getContentAsByteArray();
+        long statements = statistics.getPrepareStatementCount();
+        String url = result.getRequest().getRequestURI();
+        assertTrue(statements <= maxStatements, url + " prepared " + statements + " statements, expected at most " + maxStatements);
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private MockHttpServletRequestBuilder as(User user, MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + sessionTokens.issue(user).token());
+    }
+
+    /** The last request read reports from {@code report_detail}, each in a single select. */
+    private static void assertReadWithoutSubqueries() {
+        List<String> reads = Statements.SQL.stream().filter(sql -> sql.contains("report_detail")).toList();
+        assertFalse(reads.isEmpty(), "no report read in " + Statements.SQL);
+        for (String sql : reads) {
+            assertEquals(1, sql.toLowerCase().split("select", -1).length - 1, sql);
+        }
+    }
+
+    /** At most {@code maxBytes} of JSON per row, rows counted by their {@code key} field. */
+    private static void assertBytesPerRow(String body, String key, int maxBytes) {
+        int rows = body.split("\"" + key + "\":").length - 1;
+        assertTrue(rows > 0 && body.length() <= rows * maxBytes,
+                body.length() + " bytes for " + rows + " rows, expected at most " + maxBytes + " per row");
+    }
+
+    private static void assertSmaller(String summary, String detail) {
+        assertEquals(ROWS, summary.split("\"score\":").length - 1);
+        assertTrue(summary.length() * 10 < detail.length(),
+                "summary " + summary.length() + " bytes, detail " + detail.length() + " bytes");
+    }
+
+    /** Records the SQL Hibernate sends, registered through the inspector property above. */
+    public static class Statements implements StatementInspector {
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
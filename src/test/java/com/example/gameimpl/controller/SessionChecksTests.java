@@ -0,0 +1,236 @@
+package com.example.gameimpl.controller;
+
+import com.example.gameimpl.auth.SessionTokens;
+import com.example.gameimpl.model.Assessment;
+import com.example.gameimpl.model.Company;
+import com.example.gameimpl.model.User;
+import com.example.gameimpl.model.UserRole;
+import com.example.gameimpl.repository.AssessmentRepository;
+import com.example.gameimpl.repository.CompanyRepository;
+import com.example.gameimpl.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calls the endpoints that serve one user's or one company's data with {@code app.auth.required}
+ * left off: without a token they answer 401, with another user's or company's token 403.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:session_checks;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.auth.required=false",
+        "app.reports.outbox.enabled=false",
+        "app.assessments.expiry.enabled=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SessionChecksTests {
+
+    private static final String HASH_LOOKALIKE = "$2a$10$" + "a".repeat(53);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionTokens sessionTokens;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Company company;
+    private User recruiter;
+    private User otherRecruiter;
+    private User candidate;
+    private Assessment assessment;
+
+    @BeforeAll
+    void seed() {
+        company = companyRepository.save(new Company(null, "Checks Ltd", "CHECK-1", new ArrayList<>()));
+        Company otherCompany = companyRepository.save(new Company(null, "Other Ltd", "CHECK-2", new ArrayList<>()));
+        recruiter = userRepository.save(new User(null, "Rita", "Recruiter", UserRole.RECRUITER,
+                "rita@checks.example", "secret", company));
+        otherRecruiter = userRepository.save(new User(null, "Otto", "Recruiter", UserRole.RECRUITER,
+                "otto@checks.example", "secret", otherCompany));
+        candidate = userRepository.save(new User(null, "Cara", "Candidate", UserRole.CANDIDATE,
+                "cara@checks.example", "secret", null));
+        assessment = new Assessment();
+        assessment.setHrId(recruiter.getId());
+        assessment.setCandidateId(candidate.getId());
+        assessment.setCompanyId(company.getId());
+        assessment = assessmentRepository.save(assessment);
+    }
+
+    @Test
+    void candidateDashboardNeedsTheCandidatesToken() throws Exception {
+        String url = "/api/assessments/candidate/" + candidate.getId() + "/dashboard";
+        mockMvc.perform(get(url)).andExpect(status().isUnauthorized());
+        mockMvc.perform(as(recruiter, get(url))).andExpect(status().isForbidden());
+        mockMvc.perform(as(candidate, get(url))).andExpect(status().isOk());
+    }
+
+    @Test
+    void recruiterAnalyticsNeedTheRecruitersToken() throws Exception {
+        String url = "/api/assessments/analytics/recruiter/" + recruiter.getId();
+        mockMvc.perform(get(url)).andExpect(status().isUnauthorized());
+        mockMvc.perform(as(otherRecruiter, get(url))).andExpect(status().isForbidden());
+        mockMvc.perform(as(recruiter, get(url))).andExpect(status().isOk());
+    }
+
+    @Test
+    void companyAnalyticsNeedARecruiterOfTheCompany() throws Exception {
+        String url = "/api/assessments/analytics/company/" + company.getId();
+        mockMvc.perform(get(url)).andExpect(status().isUnauthorized());
+        mockMvc.perform(as(otherRecruiter, get(url))).andExpect(status().isForbidden());
+        mockMvc.perform(as(candidate, get(url))).andExpect(status().isForbidden());
+        mockMvc.perform(as(recruiter, get(url))).andExpect(status().isOk());
+    }
+
+    @Test
+    void candidateSearchIsLimitedToTheRecruitersCompany() throws Exception {
+        mockMvc.perform(get("/api/users/candidates/search").param("q", "cara")).andExpect(status().isUnauthorized());
+        mockMvc.perform(as(candidate, get("/api/users/candidates/search").param("q", "cara")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(as(recruiter, get("/api/users/candidates/search").param("q", "cara")
+                .param("companyId", String.valueOf(otherRecruiter.getCompany().getId()))))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(as(recruiter, get("/api/users/candidates/search").param("q", "cara")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void recruiterEventsNeedTheRecruitersToken() throws Exception {
+        String url = "/api/events/recruiter/" + recruiter.getId();
+        mockMvc.perform(get(url)).andExpect(status().isUnauthorized());
+        mockMvc.perform(as(otherRecruiter, get(url))).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void accessTokenParameterOnlyCountsOnTheEventStream() throws Exception {
+        mockMvc.perform(get("/api/assessments/candidate/" + candidate.getId() + "/dashboard")
+                        .param("access_token", sessionTokens.issue(candidate).token()))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/events/recruiter/" + recruiter.getId())
+                        .param("access_token", sessionTokens.issue(otherRecruiter).token()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void bulkInvitationsStayInTheRecruitersCompany() throws Exception {
+        mockMvc.perform(invite(company.getId())).andExpect(status().isUnauthorized());
+        mockMvc.perform(as(candidate, invite(company.getId()))).andExpect(status().isForbidden());
+        mockMvc.perform(as(recruiter, invite(otherRecruiter.getCompany().getId()))).andExpect(status().isForbidden());
+        // Past the check, turned down for the missing game
+        mockMvc.perform(as(recruiter, invite(company.getId()))).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void onlyTheInvitedCandidateCompletesAnAssessment() throws Exception {
+        String url = "/api/assessments/" + assessment.getId() + "/complete";
+        mockMvc.perform(complete(url)).andExpect(status().isUnauthorized());
+        mockMvc.perform(as(recruiter, complete(url))).andExpect(status().isForbidden());
+        mockMvc.perform(as(candidate, complete("/api/assessments/999999/complete"))).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void candidateScoresNeedTheCandidatesToken() throws Exception {
+        String url = "/api/scores/candidate/" + candidate.getId();
+        mockMvc.perform(get(url)).andExpect(status().isUnauthorized());
+        mockMvc.perform(as(recruiter, get(url))).andExpect(status().isForbidden());
+        mockMvc.perform(as(candidate, get(url))).andExpect(status().isOk());
+    }
+
+    @Test
+    void recruiterReportsNeedTheRecruitersToken() throws Exception {
+        String url = "/api/reports/user/" + recruiter.getId();
+        mockMvc.perform(get(url)).andExpect(status().isUnauthorized());
+        mockMvc.perform(as(otherRecruiter, get(url))).andExpect(status().isForbidden());
+        mockMvc.perform(as(recruiter, get(url))).andExpect(status().isOk());
+    }
+
+    @Test
+    void exportsAreLimitedToTheRecruitersOwnData() throws Exception {
+        for (String url : new String[] {"/api/reports/export", "/api/scores/export"}) {
+            mockMvc.perform(get(url)).andExpect(status().isUnauthorized());
+            mockMvc.perform(as(candidate, get(url))).andExpect(status().isForbidden());
+            mockMvc.perform(as(recruiter, get(url).param("companyId", String.valueOf(otherRecruiter.getCompany().getId()))))
+                    .andExpect(status().isForbidden());
+            mockMvc.perform(as(recruiter, get(url).param("hrId", String.valueOf(otherRecruiter.getId()))))
+                    .andExpect(status().isForbidden());
+            mockMvc.perform(as(recruiter, get(url))).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void usersUpdateAndDeleteOnlyThemselves() throws Exception {
+        String url = "/api/users/" + candidate.getId();
+        mockMvc.perform(update(url)).andExpect(status().isUnauthorized());
+        mockMvc.perform(as(recruiter, update(url))).andExpect(status().isForbidden());
+        mockMvc.perform(delete(url)).andExpect(status().isUnauthorized());
+        mockMvc.perform(as(recruiter, delete(url))).andExpect(status().isForbidden());
+        mockMvc.perform(as(candidate, update(url))).andExpect(status().isOk());
+    }
+
+    @Test
+    void updateKeepsTheRoleAndHashesAPasswordThatLooksHashed() throws Exception {
+        mockMvc.perform(as(candidate, update("/api/users/" + candidate.getId()))).andExpect(status().isOk());
+        User stored = userRepository.findById(candidate.getId()).orElseThrow();
+        assertEquals(UserRole.CANDIDATE, stored.getRole());
+        assertNotEquals(HASH_LOOKALIKE, stored.getPassword());
+        assertTrue(passwordEncoder.matches(HASH_LOOKALIKE, stored.getPassword()));
+    }
+
+    /** Sends the candidate's own details with a bcrypt-shaped password and a recruiter role. */
+    private static MockHttpServletRequestBuilder update(String url) {
+        return put(url).contentType(MediaType.APPLICATION_JSON).content("""
+                {"firstName": "Cara", "lastName": "Candidate", "email": "cara@checks.example",
+                 "password": "%s", "role": "RECRUITER"}
+                """.formatted(HASH_LOOKALIKE));
+    }
+
+    private static MockHttpServletRequestBuilder invite(Integer companyId) {
+        return post("/api/assessments/bulk").contentType(MediaType.APPLICATION_JSON).content("""
+                {"companyId": %d, "candidateEmails": ["cara@checks.example"]}
+                """.formatted(companyId));
+    }
+
+    private static MockHttpServletRequestBuilder complete(String url) {
+        return post(url).contentType(MediaType.APPLICATION_JSON).content("""
+                {"score": "80", "feedback": "done"}
+                """);
+    }
+
+    private MockHttpServletRequestBuilder as(User user, MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + sessionTokens.issue(user).token());
+    }
+}
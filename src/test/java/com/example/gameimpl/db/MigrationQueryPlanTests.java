@@ -0,0 +1,122 @@
+package com.example.gameimpl.db;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Applies the Flyway migrations to an in-memory H2 database in PostgreSQL mode, seeds it and
+ * checks that the hot repository lookups are planned against an index rather than a table scan.
+ */
+class MigrationQueryPlanTests {
+
+    private static final String URL = "jdbc:h2:mem:query_plans;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure().dataSource(URL, "sa", "").locations("classpath:db/migration").load().migrate();
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (int i = 1; i <= 200; i++) {
+                statement.addBatch("insert into assessment (hr_id, candidate_id, game_id, company_id, status, created_at, due_date) "
+                        + "values (" + (i % 5) + ", " + i + ", 1, 1, '" + (i % 2 == 0 ? "PENDING" : "COMPLETED") + "', "
+                        + "current_timestamp, current_timestamp)");
+                statement.addBatch("insert into score (assessment_id, candidate_id, score, score_value, game_type) values ("
+                        + i + ", " + i + ", '50', " + (i % 100) + ", 'CODE_BREAKER')");
+                statement.addBatch("insert into report (user_id, score_id, score, created_at) values ("
+                        + (i % 5) + ", " + i + ", '50', current_timestamp)");
+                statement.addBatch("insert into review (user_id, message) values (" + i + ", 'ok')");
+                statement.addBatch("insert into report_outbox (score_id, hr_id, candidate_id, status, attempts, created_at, available_at) "
+                        + "values (" + i + ", " + (i % 5) + ", " + i + ", '" + (i % 20 == 0 ? "PENDING" : "DONE") + "', 1, "
+                        + "current_timestamp, current_timestamp)");
+            }
+            statement.executeBatch();
+        }
+    }
+
+    @Test
+    void candidateAssessmentsUseCandidateStatusIndex() throws SQLException {
+        assertUsesIndex("select * from assessment where candidate_id = 7", "idx_assessment_candidate_status");
+        assertUsesIndex("select * from assessment where candidate_id = 7 and status = 'PENDING'",
+                "idx_assessment_candidate_status");
+    }
+
+    @Test
+    void recruiterAssessmentsUseHrCreatedIndex() throws SQLException {
+        assertUsesIndex("select * from assessment where hr_id = 3 order by created_at desc", "idx_assessment_hr_created");
+    }
+
+    @Test
+    void statusLookupUsesStatusIndex() throws SQLException {
+        assertUsesIndex("select * from assessment where status = 'PENDING' and due_date < current_timestamp",
+                "idx_assessment_status_due");
+    }
+
+    @Test
+    void companyAnalyticsUseCompanyStatusIndex() throws SQLException {
+        assertUsesIndex("select status, count(*) from assessment where company_id = 1 group by status",
+                "idx_assessment_company_status");
+    }
+
+    @Test
+    void skillSummariesUseAnalyticsIndexes() throws SQLException {
+        String summary = "select g.skill_name, count(*), avg(s.score_value), "
+                + "percentile_cont(0.5) within group (order by s.score_value), "
+                + "avg(extract(epoch from (s.completed_at - a.created_at))) "
+                + "from assessment a join score s on s.assessment_id = a.id left join game g on g.id = a.game_id "
+                + "where a.%s = %d and a.status = 'COMPLETED' group by g.skill_name order by g.skill_name";
+        assertUsesIndex(summary.formatted("hr_id", 3), "idx_assessment_hr_status");
+        assertUsesIndex(summary.formatted("company_id", 1), "idx_assessment_company_status");
+        assertUsesIndex(summary.formatted("company_id", 1), "idx_score_assessment");
+    }
+
+    @Test
+    void scoreLookupsUseIndexes() throws SQLException {
+        assertUsesIndex("select * from score where assessment_id = 11", "idx_score_assessment");
+        assertUsesIndex("select * from score where candidate_id = 11", "idx_score_candidate");
+    }
+
+    @Test
+    void scoreGameTypeLookupUsesGameTypeValueIndex() throws SQLException {
+        assertUsesIndex("select * from score where game_type = 'CODE_BREAKER' and score_value >= 80",
+                "idx_score_game_type_value");
+    }
+
+    @Test
+    void reportAndReviewLookupsUseUserIndexes() throws SQLException {
+        assertUsesIndex("select * from report where user_id = 2", "idx_report_user_created");
+        assertUsesIndex("select * from review where user_id = 2", "idx_review_user");
+    }
+
+    @Test
+    void reportDetailViewJoinsScoreAndCandidateByKey() throws SQLException {
+        assertUsesIndex("select * from report_detail where user_id = 2", "idx_report_user_created");
+        assertUsesIndex("select * from report_detail where user_id = 2", "score_id = r.score_id");
+        assertUsesIndex("select * from report_detail where user_id = 2", "id = s.candidate_id");
+    }
+
+    @Test
+    void reportOutboxUsesIndexes() throws SQLException {
+        assertUsesIndex("select * from report_outbox where status = 'PENDING' and available_at <= current_timestamp order by id",
+                "idx_report_outbox_status_available");
+        assertUsesIndex("select * from report where score_id = 11", "uk_report_score");
+    }
+
+    private static void assertUsesIndex(String sql, String index) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("explain " + sql)) {
+            plan.next();
+            String text = plan.getString(1).toLowerCase();
+            assertTrue(text.contains(index), () -> "Expected " + index + " in plan for [" + sql + "] but was: " + text);
+        }
+    }
+}
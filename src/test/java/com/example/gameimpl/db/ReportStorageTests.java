@@ -0,0 +1,146 @@
+package com.example.gameimpl.db;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeds reports the way they were stored before V11 (candidate name, email and score copied into
+ * the report, the report text kept in both the report and its outbox entry), migrates, and
+ * measures the report payload bytes held before and after.
+ */
+class ReportStorageTests {
+
+    private static final String URL = "jdbc:h2:mem:report_storage;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final int REPORTS = 200;
+    private static final int DUPLICATES = 20;
+    private static final int ORPHAN_SCORE = 100_000;
+    private static final int DELETED_CANDIDATE_SCORE = 100_001;
+    private static final String REPORT_TEXT = "CODE BREAKER ASSESSMENT REPORT\n" + "Detailed analysis line.\n".repeat(80);
+
+    private static long bytesBefore;
+    private static long bytesAfter;
+
+    @BeforeAll
+    static void migrateSeedAndMeasure() throws SQLException {
+        Flyway.configure().dataSource(URL, "sa", "").locations("classpath:db/migration").target("9").load().migrate();
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (int i = 1; i <= REPORTS; i++) {
+                statement.addBatch("insert into users (id, first_name, last_name, role, email, password) values ("
+                        + i + ", 'Candidate', 'No" + i + "', 'CANDIDATE', 'candidate" + i + "@storage.example', 'secret')");
+                statement.addBatch("insert into score (score_id, assessment_id, candidate_id, score) values ("
+                        + i + ", " + i + ", " + i + ", '" + (i % 100) + "')");
+                statement.addBatch(report(i, i));
+                statement.addBatch("insert into report_outbox (score_id, hr_id, candidate_id, skill_type, feedback, status, "
+                        + "attempts, created_at, available_at) values (" + i + ", 1, " + i + ", 'CODE_BREAKER', '"
+                        + REPORT_TEXT + "', 'DONE', 1, current_timestamp, current_timestamp)");
+            }
+            for (int i = 1; i <= DUPLICATES; i++) {
+                statement.addBatch(report(REPORTS + i, i));
+            }
+            statement.addBatch(report(REPORTS + DUPLICATES + 1, ORPHAN_SCORE));
+            // The score is still there, its candidate is not
+            statement.addBatch("insert into score (score_id, assessment_id, candidate_id, score) values ("
+                    + DELETED_CANDIDATE_SCORE + ", " + DELETED_CANDIDATE_SCORE + ", " + DELETED_CANDIDATE_SCORE + ", '77')");
+            statement.addBatch(report(REPORTS + DUPLICATES + 2, DELETED_CANDIDATE_SCORE));
+            statement.executeBatch();
+        }
+        bytesBefore = reportBytes();
+        Flyway.configure().dataSource(URL, "sa", "").locations("classpath:db/migration").load().migrate();
+        bytesAfter = reportBytes();
+    }
+
+    @Test
+    void duplicateReportsOfAScoreAreRemoved() throws SQLException {
+        assertEquals(REPORTS + 2, longValue("select count(*) from report"));
+        assertEquals(0, longValue("select count(*) from report where report_id > " + REPORTS
+                + " and score_id not in (" + ORPHAN_SCORE + ", " + DELETED_CANDIDATE_SCORE + ")"));
+    }
+
+    @Test
+    void copiedColumnsAreClearedWhereTheScoreAndCandidateExist() throws SQLException {
+        assertEquals(0, longValue("select count(*) from report where score_id <= " + REPORTS
+                + " and (fullname is not null or email is not null or score is not null)"));
+        assertEquals(REPORTS, longValue("select count(*) from report where feedback is not null and score_id <= " + REPORTS));
+    }
+
+    @Test
+    void reportOfADeletedCandidateKeepsNameAndEmail() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet row = statement.executeQuery("select fullname, email, score from report where score_id = "
+                     + DELETED_CANDIDATE_SCORE)) {
+            assertTrue(row.next());
+            assertEquals("Candidate No" + DELETED_CANDIDATE_SCORE, row.getString(1));
+            assertEquals("candidate" + DELETED_CANDIDATE_SCORE + "@storage.example", row.getString(2));
+            // Still read from the score
+            assertNull(row.getString(3));
+        }
+    }
+
+    @Test
+    void reportWithoutScoreKeepsItsCopies() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet row = statement.executeQuery("select fullname, email, score from report where score_id = " + ORPHAN_SCORE)) {
+            assertTrue(row.next());
+            assertEquals("Orphan Candidate", row.getString(1));
+            assertEquals("orphan@storage.example", row.getString(2));
+            assertEquals("42", row.getString(3));
+        }
+    }
+
+    @Test
+    void reportTextIsStoredOnce() throws SQLException {
+        assertEquals(0, longValue("select count(*) from report_outbox where feedback is not null"));
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet row = statement.executeQuery("select feedback from report_outbox where score_id = 1")) {
+            assertTrue(row.next());
+            assertNull(row.getString(1));
+        }
+    }
+
+    @Test
+    void storedPayloadIsLessThanHalf() {
+        // Before: 221 report rows with copies and 200 outbox texts; after: one text per score
+        assertTrue(bytesAfter * 2 < bytesBefore,
+                () -> "Report payload " + bytesBefore + " bytes before, " + bytesAfter + " after");
+    }
+
+    private static String report(int reportId, int scoreId) {
+        boolean orphan = scoreId == ORPHAN_SCORE;
+        return "insert into report (report_id, user_id, score_id, fullname, email, score, skill_type, feedback, created_at) "
+                + "values (" + reportId + ", 1, " + scoreId + ", '" + (orphan ? "Orphan Candidate" : "Candidate No" + scoreId)
+                + "', '" + (orphan ? "orphan" : "candidate" + scoreId) + "@storage.example', '" + (orphan ? 42 : scoreId % 100)
+                + "', 'CODE_BREAKER', '" + REPORT_TEXT + "', current_timestamp)";
+    }
+
+    /** Bytes held in the report's copied and text columns, in report and report_outbox. */
+    private static long reportBytes() throws SQLException {
+        return longValue("select coalesce(sum(octet_length(fullname)), 0) + coalesce(sum(octet_length(email)), 0)"
+                + " + coalesce(sum(octet_length(score)), 0) + coalesce(sum(octet_length(feedback)), 0) from report")
+                + longValue("select coalesce(sum(octet_length(feedback)), 0) from report_outbox");
+    }
+
+    private static long longValue(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.gameimpl.service;
+
+import com.example.gameimpl.dto.AssessmentAnalytics;
+import com.example.gameimpl.dto.SkillScoreStats;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Runs the native analytics queries ({@code percentile_cont ... within group} and
+ * {@code extract(epoch from ...)}) against an in-memory H2 database in PostgreSQL mode and checks
+ * the counts, averages, medians and completion times they return for a recruiter and a company.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:analytics;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.reports.outbox.enabled=false",
+        "app.assessments.expiry.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AssessmentAnalyticsTests {
+
+    private static final int RECRUITER = 1;
+    private static final int OTHER_RECRUITER = 2;
+    private static final int COMPANY = 1;
+    private static final int OTHER_COMPANY = 2;
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    @Autowired
+    private AssessmentAnalyticsService assessmentAnalyticsService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeAll
+    void seed() {
+        jdbc.update("insert into company (id, company_name, company_number) values (?, 'Analytics Ltd', 'AN-1'), "
+                + "(?, 'Other Ltd', 'AN-2')", COMPANY, OTHER_COMPANY);
+        jdbc.update("insert into game (id, game_name, game_description, skill_name, game_url, game_image, active, game_type) "
+                + "values (1, 'Code Breaker', 'test', 'Problem Solving', '/games', '/img.png', true, 'CODE_BREAKER'), "
+                + "(2, 'Memory Focus', 'test', 'Attention', '/games', '/img.png', true, 'MEMORY_FOCUS')");
+
+        // Problem Solving: 10, 20 and 90 after 60, 120 and 300 seconds; Attention: 50 after 600
+        completed(1, RECRUITER, COMPANY, 1, 10, 60);
+        completed(2, RECRUITER, COMPANY, 1, 20, 120);
+        completed(3, RECRUITER, COMPANY, 1, 90, 300);
+        completed(4, RECRUITER, COMPANY, 2, 50, 600);
+        assessment(5, RECRUITER, COMPANY, 1, "PENDING");
+        assessment(6, RECRUITER, COMPANY, 2, "EXPIRED");
+        // Another recruiter of another company, left out of both
+        completed(7, OTHER_RECRUITER, OTHER_COMPANY, 1, 100, 30);
+    }
+
+    @Test
+    void recruiterAnalyticsAggregateItsOwnAssessments() {
+        assertSeededAnalytics(assessmentAnalyticsService.getRecruiterAnalytics(RECRUITER));
+    }
+
+    @Test
+    void companyAnalyticsAggregateItsOwnAssessments() {
+        assertSeededAnalytics(assessmentAnalyticsService.getCompanyAnalytics(COMPANY));
+    }
+
+    @Test
+    void analyticsWithoutAssessmentsAreEmpty() {
+        AssessmentAnalytics analytics = assessmentAnalyticsService.getRecruiterAnalytics(999);
+        assertEquals(0, analytics.assessments().longValue());
+        assertNull(analytics.completionRate());
+        assertNull(analytics.averageSecondsToComplete());
+        assertEquals(List.of(), analytics.skills());
+    }
+
+    private static void assertSeededAnalytics(AssessmentAnalytics analytics) {
+        assertEquals(6, analytics.assessments().longValue());
+        assertEquals(1, analytics.pending().longValue());
+        assertEquals(4, analytics.completed().longValue());
+        assertEquals(1, analytics.expired().longValue());
+        assertEquals(4.0 / 6, analytics.completionRate(), 1e-9);
+        assertEquals((60 + 120 + 300 + 600) / 4.0, analytics.averageSecondsToComplete(), 1e-6);
+
+        assertEquals(2, analytics.skills().size());
+        assertSkill(analytics.skills().get(0), "Attention", 1, 50, 50, 600);
+        assertSkill(analytics.skills().get(1), "Problem Solving", 3, 40, 20, 160);
+    }
+
+    private static void assertSkill(SkillScoreStats stats, String skill, long scores, double average, double median,
+                                    double seconds) {
+        assertEquals(skill, stats.getSkill());
+        assertEquals(scores, stats.getScores().longValue());
+        assertEquals(average, stats.getAverageScore(), 1e-9);
+        assertEquals(median, stats.getMedianScore(), 1e-9);
+        assertEquals(seconds, stats.getAverageSecondsToComplete(), 1e-6);
+    }
+
+    private void completed(int id, int hrId, int companyId, int gameId, int value, int seconds) {
+        assessment(id, hrId, companyId, gameId, "COMPLETED");
+        jdbc.update("insert into score (assessment_id, candidate_id, score, score_value, game_type, completed_at) "
+                        + "values (?, ?, ?, ?, 'CODE_BREAKER', ?)",
+                id, 100 + id, String.valueOf(value), value, Timestamp.valueOf(CREATED.plusSeconds(seconds)));
+    }
+
+    private void assessment(int id, int hrId, int companyId, int gameId, String status) {
+        jdbc.update("insert into assessment (id, hr_id, candidate_id, game_id, company_id, status, created_at, due_date) "
+                        + "values (?, ?, ?, ?, ?, ?, ?, ?)",
+                id, hrId, 100 + id, gameId, companyId, status, Timestamp.valueOf(CREATED),
+                Timestamp.valueOf(CREATED.plusDays(7)));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.gameimpl.service;
+
+import com.example.gameimpl.model.Report;
+import com.example.gameimpl.model.Score;
+import com.example.gameimpl.model.StoredReport;
+import com.example.gameimpl.model.User;
+import com.example.gameimpl.model.UserRole;
+import com.example.gameimpl.repository.ScoreRepository;
+import com.example.gameimpl.repository.StoredReportRepository;
+import com.example.gameimpl.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Deletes the score or the candidate a report reads its name, email and score from, and checks
+ * that the report still shows them afterwards.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:report_copies;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.reports.outbox.enabled=false",
+        "app.assessments.expiry.enabled=false"
+})
+class ReportCopiesTests {
+
+    @Autowired
+    private ScoreService scoreService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Autowired
+    private StoredReportRepository storedReportRepository;
+
+    @Test
+    void deletedScoreIsCopiedIntoItsReport() {
+        StoredReport report = reportOn("scored@copies.example", 1, "64");
+
+        scoreService.deleteScore(report.getScoreId());
+
+        Report read = reportService.getReportById(report.getReportId()).orElseThrow();
+        assertEquals("Copied Candidate", read.getFullname());
+        assertEquals("scored@copies.example", read.getEmail());
+        assertEquals("64", read.getScore());
+    }
+
+    @Test
+    void deletedCandidateIsCopiedIntoTheirReports() {
+        StoredReport report = reportOn("deleted@copies.example", 2, "81");
+        Integer candidateId = scoreRepository.findById(report.getScoreId()).orElseThrow().getCandidateId();
+
+        userService.deleteUser(candidateId);
+
+        Report read = reportService.getReportById(report.getReportId()).orElseThrow();
+        assertEquals("Copied Candidate", read.getFullname());
+        assertEquals("deleted@copies.example", read.getEmail());
+        assertEquals("81", read.getScore());
+    }
+
+    private StoredReport reportOn(String email, int assessmentId, String value) {
+        User candidate = userRepository.save(new User(null, "Copied", "Candidate", UserRole.CANDIDATE, email, "secret", null));
+        Score score = scoreRepository.save(new Score(null, assessmentId, candidate.getId(), value, Integer.valueOf(value),
+                "CODE_BREAKER", 60, 3, 0.5, null, null, null));
+        return storedReportRepository.save(new StoredReport(null, 1, score.getScoreId(), "CODE_BREAKER", "ok", null));
+    }
+}
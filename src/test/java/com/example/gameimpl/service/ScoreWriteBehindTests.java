@@ -0,0 +1,49 @@
+package com.example.gameimpl.service;
+
+import com.example.gameimpl.model.Score;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stores a score through the write-behind queue, stops it, and checks that later scores are
+ * rejected by the queue but still stored directly through {@link ScoreService}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:write_behind;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.reports.outbox.enabled=false",
+        "app.assessments.expiry.enabled=false",
+        "app.scores.write-behind.enabled=true"
+})
+class ScoreWriteBehindTests {
+
+    @Autowired
+    private ScoreWriteBehind scoreWriteBehind;
+
+    @Autowired
+    private ScoreService scoreService;
+
+    @Test
+    void scoresAreStoredDirectlyOnceWriteBehindStopped() throws Exception {
+        assertTrue(scoreWriteBehind.accepts());
+        assertNotNull(scoreWriteBehind.insert(score(1)).getScoreId());
+
+        scoreWriteBehind.stop();
+
+        assertFalse(scoreWriteBehind.accepts());
+        assertThrows(ScoreWriteBehind.UnavailableException.class, () -> scoreWriteBehind.insert(score(2)));
+        assertNotNull(scoreService.saveScore(score(3)).getScoreId());
+    }
+
+    private static Score score(int assessmentId) {
+        return new Score(null, assessmentId, 1, "70", 70, "CODE_BREAKER", 60, 3, 0.5, null, null, null);
+    }
+}